@@ -0,0 +1,147 @@
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ReadOnly;
+import com.hazelcast.cp.IAtomicLong;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.IMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+//tag::stripedlist[]
+// Stores one logical list as chunks of chunkSize consecutive elements. The
+// chunks are entries of a map, so they are spread over all partitions.
+// Elements can be appended, read and replaced, but not inserted or removed.
+public class StripedList<E> {
+
+    private static final int CHUNKS_PER_READ = 16;
+
+    private final IMap<Long, ArrayList<E>> chunks;
+    private final IAtomicLong size;
+    private final int chunkSize;
+
+    public StripedList(HazelcastInstance hz, String name, int chunkSize) {
+        this.chunks = hz.getMap(name);
+        this.size = hz.getCPSubsystem().getAtomicLong(name);
+        this.chunkSize = chunkSize;
+    }
+
+    public long add(E element) {
+        return addAll(Collections.singletonList(element));
+    }
+
+    // Reserves a range of indexes, writes the elements of each chunk with one
+    // operation and returns the index of the first element. Concurrent calls
+    // append their elements in ranges that do not overlap, so the elements of
+    // each call stay together. The reserved indexes cannot be released: if a
+    // write fails, the indexes that were not written hold null until they
+    // are replaced with set().
+    public long addAll(List<? extends E> elements) {
+        long first = size.getAndAdd(elements.size());
+        int written = 0;
+        try {
+            while (written < elements.size()) {
+                long index = first + written;
+                int offset = (int) (index % chunkSize);
+                int count = Math.min(chunkSize - offset, elements.size() - written);
+                chunks.executeOnKey(index / chunkSize,
+                        new SetRange<>(offset, new ArrayList<>(elements.subList(written, written + count))));
+                written += count;
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Failed to write indexes " + (first + written) + " to "
+                    + (first + elements.size() - 1) + " of list " + chunks.getName(), e);
+        }
+        return first;
+    }
+
+    // Returns null for an index that is reserved by addAll() but not written
+    // yet, because the call is still running or has failed
+    public E get(long index) {
+        if (index < 0 || index >= size.get()) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        return chunks.executeOnKey(index / chunkSize, new GetElement<>((int) (index % chunkSize)));
+    }
+
+    public void set(long index, E element) {
+        if (index < 0 || index >= size.get()) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        chunks.executeOnKey(index / chunkSize,
+                new SetRange<>((int) (index % chunkSize), new ArrayList<>(Collections.singletonList(element))));
+    }
+
+    public long size() {
+        return size.get();
+    }
+
+    // Passes the chunks to the action in order. Each getAll() call reads up
+    // to CHUNKS_PER_READ chunks from their partitions in parallel, without
+    // blocking a thread per chunk.
+    public void forEachChunk(Consumer<List<E>> action) {
+        long chunkCount = (size.get() + chunkSize - 1) / chunkSize;
+        for (long first = 0; first < chunkCount; first += CHUNKS_PER_READ) {
+            Set<Long> keys = new HashSet<>();
+            for (long chunk = first; chunk < Math.min(first + CHUNKS_PER_READ, chunkCount); chunk++) {
+                keys.add(chunk);
+            }
+            new TreeMap<>(chunks.getAll(keys)).values().forEach(action);
+        }
+    }
+
+    public void destroy() {
+        chunks.destroy();
+        size.destroy();
+    }
+
+    // Writes the elements from the given offset in the chunk. Gaps left by
+    // concurrent writers that have not written their range yet hold null.
+    static class SetRange<E> implements EntryProcessor<Long, ArrayList<E>, Void> {
+        private final int offset;
+        private final ArrayList<E> elements;
+
+        SetRange(int offset, ArrayList<E> elements) {
+            this.offset = offset;
+            this.elements = elements;
+        }
+
+        @Override
+        public Void process(Map.Entry<Long, ArrayList<E>> entry) {
+            ArrayList<E> chunk = entry.getValue() == null ? new ArrayList<>() : entry.getValue();
+            while (chunk.size() < offset + elements.size()) {
+                chunk.add(null);
+            }
+            for (int i = 0; i < elements.size(); i++) {
+                chunk.set(offset + i, elements.get(i));
+            }
+            entry.setValue(chunk);
+            return null;
+        }
+    }
+
+    static class GetElement<E> implements EntryProcessor<Long, ArrayList<E>, E>, ReadOnly {
+        private final int offset;
+
+        GetElement(int offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        public E process(Map.Entry<Long, ArrayList<E>> entry) {
+            ArrayList<E> chunk = entry.getValue();
+            return chunk == null || offset >= chunk.size() ? null : chunk.get(offset);
+        }
+
+        @Override
+        public EntryProcessor<Long, ArrayList<E>, E> getBackupProcessor() {
+            return null;
+        }
+    }
+}
+//end::stripedlist[]
@@ -0,0 +1,61 @@
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.hazelcast.examples.helper.ClusterBenchmark.forEachClusterSize;
+import static com.hazelcast.examples.helper.ClusterBenchmark.runOnEachMember;
+
+// Compares how fast elements are appended to an IList and to a StripedList
+// as the cluster grows. Each member appends up to 1,000,000 elements in
+// batches of 1,000 for at most the given number of seconds, so that the
+// lists do not fill the heap. Pass the member counts to test as arguments,
+// for example "1 2 4 8".
+public class StripedListBenchmark {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int BATCH_SIZE = 1000;
+    private static final long ELEMENTS_PER_MEMBER = 1_000_000;
+    private static final int SECONDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        forEachClusterSize(args, new Config(), members -> {
+            //tag::stripedlistbenchmark[]
+            long single = run(members, hz -> hz.<String>getList("single")::addAll);
+            members.get(0).getList("single").destroy();
+            long striped = run(members, hz -> new StripedList<String>(hz, "striped", CHUNK_SIZE)::addAll);
+            new StripedList<String>(members.get(0), "striped", CHUNK_SIZE).destroy();
+            System.out.printf("%d members: IList %,d elements/s, StripedList %,d elements/s%n",
+                    members.size(), single, striped);
+            //end::stripedlistbenchmark[]
+        });
+    }
+
+    // Runs one writer on each member and returns the number of appended elements per second
+    private static long run(List<HazelcastInstance> members,
+                            Function<HazelcastInstance, Consumer<List<String>>> lists) throws Exception {
+        List<Consumer<List<String>>> addAllPerMember = new ArrayList<>();
+        for (HazelcastInstance hz : members) {
+            addAllPerMember.add(lists.apply(hz));
+        }
+        AtomicLong added = new AtomicLong();
+        long start = System.nanoTime();
+        runOnEachMember(members.size(), SECONDS, (member, deadline) -> {
+            Consumer<List<String>> addAll = addAllPerMember.get(member);
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.add("element-" + i);
+            }
+            for (long appended = 0; appended < ELEMENTS_PER_MEMBER && System.nanoTime() < deadline; ) {
+                addAll.accept(batch);
+                appended += batch.size();
+                added.addAndGet(batch.size());
+            }
+        });
+        return added.get() * 1_000_000_000L / Math.max(1, System.nanoTime() - start);
+    }
+}
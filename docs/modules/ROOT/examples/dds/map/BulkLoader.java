@@ -0,0 +1,128 @@
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapLoader;
+import com.hazelcast.partition.PartitionService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+//tag::bulkloader[]
+public class BulkLoader<K, V> {
+
+    private final HazelcastInstance hazelcastInstance;
+    private final MapLoader<K, V> mapLoader;
+    private final int pageSize;
+    private final int maxInFlightPages;
+    private final Semaphore inFlightPages;
+
+    private final AtomicLong loaded = new AtomicLong();
+    private final AtomicLongArray pendingPerPartition;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    public BulkLoader(HazelcastInstance hazelcastInstance, MapLoader<K, V> mapLoader,
+                      int pageSize, int maxInFlightPages) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.mapLoader = mapLoader;
+        this.pageSize = pageSize;
+        this.maxInFlightPages = maxInFlightPages;
+        this.inFlightPages = new Semaphore(maxInFlightPages);
+        this.pendingPerPartition = new AtomicLongArray(
+                hazelcastInstance.getPartitionService().getPartitions().size());
+    }
+
+    // Loads every key returned by MapLoader.loadAllKeys() into the given map.
+    // The map should not have a MapStore configured, so that the loaded
+    // entries are not written back to the data store. If a page cannot be
+    // written, loading stops and the first failure is rethrown.
+    public long load(String mapName) throws InterruptedException, IOException {
+        IMap<K, V> map = hazelcastInstance.getMap(mapName);
+        PartitionService partitionService = hazelcastInstance.getPartitionService();
+        long start = System.nanoTime();
+
+        // Like Hazelcast, close the keys when the loader returns a Closeable,
+        // for example to release a database cursor
+        Iterable<K> keys = mapLoader.loadAllKeys();
+        try {
+            List<K> page = new ArrayList<>(pageSize);
+            for (K key : keys) {
+                if (failure.get() != null) {
+                    break;
+                }
+                pendingPerPartition.incrementAndGet(partitionService.getPartition(key).getPartitionId());
+                page.add(key);
+                if (page.size() == pageSize) {
+                    loadPage(map, partitionService, page);
+                    page = new ArrayList<>(pageSize);
+                }
+            }
+            if (!page.isEmpty() && failure.get() == null) {
+                loadPage(map, partitionService, page);
+            }
+        } finally {
+            if (keys instanceof Closeable) {
+                ((Closeable) keys).close();
+            }
+        }
+
+        // Wait until all pages are written
+        inFlightPages.acquire(maxInFlightPages);
+        inFlightPages.release(maxInFlightPages);
+        printProgress(start);
+        if (failure.get() != null) {
+            throw new IllegalStateException("A page failed to load", failure.get());
+        }
+        return loaded.get();
+    }
+
+    // Values are loaded with one MapLoader.loadAll() call per page and written
+    // with setAllAsync(), which groups the entries by partition and does not
+    // return old values. The semaphore blocks the key iteration while too
+    // many pages are in flight.
+    private void loadPage(IMap<K, V> map, PartitionService partitionService, List<K> keys)
+            throws InterruptedException {
+        Map<K, V> values = new HashMap<>(mapLoader.loadAll(keys));
+        values.values().removeIf(value -> value == null);
+        inFlightPages.acquire();
+        map.setAllAsync(values).whenComplete((ignored, throwable) -> {
+            try {
+                if (throwable != null) {
+                    failure.compareAndSet(null, throwable);
+                    return;
+                }
+                for (K key : keys) {
+                    pendingPerPartition.decrementAndGet(partitionService.getPartition(key).getPartitionId());
+                }
+                loaded.addAndGet(values.size());
+            } finally {
+                inFlightPages.release();
+            }
+        });
+    }
+
+    // Number of keys per partition that have been read but not yet written
+    public long[] pendingPerPartition() {
+        long[] pending = new long[pendingPerPartition.length()];
+        for (int i = 0; i < pending.length; i++) {
+            pending[i] = pendingPerPartition.get(i);
+        }
+        return pending;
+    }
+
+    public void printProgress(long startNanos) {
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        long pending = Arrays.stream(pendingPerPartition()).sum();
+        System.out.printf("Loaded %,d entries in %,d ms (%,d entries/s), %,d keys pending%n",
+                loaded.get(), elapsedMillis, loaded.get() * 1000 / elapsedMillis, pending);
+    }
+}
+//end::bulkloader[]
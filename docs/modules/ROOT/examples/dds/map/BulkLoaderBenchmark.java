@@ -0,0 +1,102 @@
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapLoader;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Measures the time to warm a map from a MapLoader with IMap.loadAll()
+// and with BulkLoader. Pass the entry counts to test as arguments,
+// for example "1000000 10000000 50000000", and size the heap accordingly.
+public class BulkLoaderBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String[] sizes = args.length > 0 ? args : new String[]{"1000000"};
+        for (String size : sizes) {
+            int entryCount = Integer.parseInt(size);
+            SyntheticLoader loader = new SyntheticLoader(entryCount);
+
+            Config config = new Config();
+            MapConfig loadAllMapConfig = config.getMapConfig("loadAll");
+            loadAllMapConfig.setMapStoreConfig(new MapStoreConfig()
+                    .setImplementation(loader)
+                    .setInitialLoadMode(MapStoreConfig.InitialLoadMode.LAZY));
+            HazelcastInstance hz = Hazelcast.newHazelcastInstance(config);
+            try {
+                //tag::bulkloaderbenchmark[]
+                IMap<Integer, String> loadAllMap = hz.getMap("loadAll");
+                long start = System.nanoTime();
+                loadAllMap.loadAll(true);
+                System.out.printf("IMap.loadAll(): %,d entries in %,d ms%n",
+                        loadAllMap.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+                BulkLoader<Integer, String> bulkLoader = new BulkLoader<>(hz, loader, 10_000, 8);
+                long bulkStart = System.nanoTime();
+                ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+                progress.scheduleAtFixedRate(() -> bulkLoader.printProgress(bulkStart), 1, 1, TimeUnit.SECONDS);
+                try {
+                    bulkLoader.load("bulk");
+                } finally {
+                    progress.shutdownNow();
+                }
+                //end::bulkloaderbenchmark[]
+            } finally {
+                hz.shutdown();
+            }
+        }
+    }
+
+    // Generates values on the fly, so the data store is never the bottleneck
+    private static class SyntheticLoader implements MapLoader<Integer, String> {
+
+        private final int entryCount;
+
+        SyntheticLoader(int entryCount) {
+            this.entryCount = entryCount;
+        }
+
+        @Override
+        public String load(Integer key) {
+            return key < entryCount ? "value-" + key : null;
+        }
+
+        @Override
+        public Map<Integer, String> loadAll(Collection<Integer> keys) {
+            Map<Integer, String> result = new HashMap<>();
+            for (Integer key : keys) {
+                result.put(key, load(key));
+            }
+            return result;
+        }
+
+        @Override
+        public Iterable<Integer> loadAllKeys() {
+            return () -> new Iterator<Integer>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < entryCount;
+                }
+
+                @Override
+                public Integer next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return next++;
+                }
+            };
+        }
+    }
+}
@@ -36,9 +36,11 @@ public class LoadAll {
     }
 
     private static void populateMap(IMap<Integer, Integer> map, int itemCount) {
+        Map<Integer, Integer> entries = new HashMap<Integer, Integer>();
         for (int i = 0; i < itemCount; i++) {
-            map.put(i, i);
+            entries.put(i, i);
         }
+        map.putAll(entries);
     }
 
     private static Config createNewConfig(String mapName) {
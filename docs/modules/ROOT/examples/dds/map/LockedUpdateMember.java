@@ -0,0 +1,77 @@
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.IMap;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+//tag::lum[]
+public class LockedUpdateMember {
+    public static void main( String[] args ) throws Exception {
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance();
+        IMap<String, Value> map = hz.getMap( "map" );
+        LatencyHistogram histogram = new LatencyHistogram();
+        String key = "1";
+        map.put( key, new Value() );
+        System.out.println( "Starting" );
+        for ( int k = 0; k < 1000; k++ ) {
+            long start = System.nanoTime();
+            // Waits for a lock held by another caller, reads, updates and
+            // writes the value on the partition thread in one invocation.
+            // The timeout does not cancel the entry processor: after a
+            // TimeoutException the update may still be applied.
+            map.submitToKey( key, new Update<String, Value>( value -> {
+                value.amount++;
+                return value;
+            } ) ).toCompletableFuture().get( 5, TimeUnit.SECONDS );
+            histogram.record( System.nanoTime() - start );
+        }
+        System.out.println( "Finished! Result = " + map.get( key ).amount );
+        histogram.print( map.getName() );
+    }
+
+    static class Value implements Serializable {
+        public int amount;
+    }
+
+    static class Update<K, V> implements EntryProcessor<K, V, Void> {
+        private final FunctionEx<V, V> updateFn;
+
+        Update( FunctionEx<V, V> updateFn ) {
+            this.updateFn = updateFn;
+        }
+
+        @Override
+        public Void process( Map.Entry<K, V> entry ) {
+            entry.setValue( updateFn.apply( entry.getValue() ) );
+            return null;
+        }
+    }
+
+    // Counts update latencies, including time spent waiting for the key lock,
+    // in power-of-two microsecond buckets
+    static class LatencyHistogram {
+        private final AtomicLongArray buckets = new AtomicLongArray( 32 );
+
+        void record( long nanos ) {
+            long micros = Math.max( 1, TimeUnit.NANOSECONDS.toMicros( nanos ) );
+            int bucket = Math.min( buckets.length() - 1, 63 - Long.numberOfLeadingZeros( micros ) );
+            buckets.incrementAndGet( bucket );
+        }
+
+        void print( String mapName ) {
+            System.out.println( "Update latency for map " + mapName + ":" );
+            for ( int i = 0; i < buckets.length(); i++ ) {
+                long count = buckets.get( i );
+                if ( count > 0 ) {
+                    System.out.printf( "  < %,d us: %d%n", 1L << ( i + 1 ), count );
+                }
+            }
+        }
+    }
+}
+//end::lum[]
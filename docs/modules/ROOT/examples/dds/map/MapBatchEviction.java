@@ -0,0 +1,172 @@
+package dds.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.partition.PartitionService;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+import static java.lang.System.out;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+
+//tag::mbe[]
+public class MapBatchEviction {
+
+    public static void main(String[] args) {
+        // No eviction config: BatchEvictor replaces sampling-based eviction
+        HazelcastInstance instance = Hazelcast.newHazelcastInstance(new Config());
+        IMap<Integer, Integer> map = instance.getMap("test");
+
+        // Odd keys first, then the lowest key
+        Comparator<Integer> oddFirst = Comparator.<Integer, Boolean>comparing(key -> key % 2 == 0)
+                .thenComparing(Comparator.naturalOrder());
+
+        int partitionCount = instance.getPartitionService().getPartitions().size();
+        BatchEvictor<Integer, Integer> evictor = new BatchEvictor<>(instance, map, oddFirst,
+                10000 / partitionCount, 8000 / partitionCount);
+        evictor.start(100, TimeUnit.MILLISECONDS);
+
+        AtomicInteger oddKeys = new AtomicInteger();
+        AtomicInteger evenKeys = new AtomicInteger();
+        map.addEntryListener((EntryEvictedListener<Integer, Integer>) event -> {
+            if (event.getKey() % 2 == 0) {
+                evenKeys.incrementAndGet();
+            } else {
+                oddKeys.incrementAndGet();
+            }
+        }, false);
+
+        for (int i = 0; i < 15000; i++) {
+            map.put(i, i);
+        }
+
+        // wait some more time to receive evicted-events
+        parkNanos(SECONDS.toNanos(5));
+
+        // The high- and low-water marks apply to each partition, so even keys
+        // are evicted from a partition once it has no odd keys left, even
+        // while other partitions still hold odd keys
+        String msg = "BatchEvictor evicts each partition in comparator order, so it"
+                + " evicts only odd keys from a partition while that partition has odd keys left."
+                + " \nNumber of evicted-odd-keys = %d, number of evicted-even-keys = %d";
+        out.println(format(msg, oddKeys.get(), evenKeys.get()));
+
+        evictor.stop();
+        instance.shutdown();
+    }
+
+    /**
+     * Keeps the local keys of each partition ordered by the given comparator
+     * and, when a partition grows past the high-water mark, evicts its first
+     * keys in one batch until it is back at the low-water mark.
+     * <p>
+     * The comparator must be a total order, because keys that compare as
+     * equal are treated as the same key.
+     */
+    public static class BatchEvictor<K, V> implements EntryAddedListener<K, V>, EntryRemovedListener<K, V>,
+            EntryEvictedListener<K, V>, EntryExpiredListener<K, V> {
+
+        private final IMap<K, V> map;
+        private final PartitionService partitionService;
+        private final Comparator<K> comparator;
+        private final int highWaterMark;
+        private final int lowWaterMark;
+        private final ConcurrentMap<Integer, NavigableSet<K>> partitions = new ConcurrentHashMap<>();
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        private UUID registrationId;
+
+        public BatchEvictor(HazelcastInstance instance, IMap<K, V> map, Comparator<K> comparator,
+                            int highWaterMark, int lowWaterMark) {
+            this.map = map;
+            this.partitionService = instance.getPartitionService();
+            this.comparator = comparator;
+            this.highWaterMark = highWaterMark;
+            this.lowWaterMark = lowWaterMark;
+        }
+
+        public void start(long period, TimeUnit unit) {
+            // Only events for entries owned by this member are received
+            registrationId = map.addLocalEntryListener(this);
+            scheduler.scheduleWithFixedDelay(this::evictAll, period, period, unit);
+        }
+
+        public void stop() {
+            scheduler.shutdownNow();
+            map.removeEntryListener(registrationId);
+        }
+
+        @Override
+        public void entryAdded(EntryEvent<K, V> event) {
+            NavigableSet<K> keys = keysOf(event.getKey());
+            synchronized (keys) {
+                keys.add(event.getKey());
+            }
+        }
+
+        @Override
+        public void entryRemoved(EntryEvent<K, V> event) {
+            forget(event.getKey());
+        }
+
+        @Override
+        public void entryEvicted(EntryEvent<K, V> event) {
+            forget(event.getKey());
+        }
+
+        @Override
+        public void entryExpired(EntryEvent<K, V> event) {
+            forget(event.getKey());
+        }
+
+        private void forget(K key) {
+            NavigableSet<K> keys = keysOf(key);
+            synchronized (keys) {
+                keys.remove(key);
+            }
+        }
+
+        private NavigableSet<K> keysOf(K key) {
+            int partitionId = partitionService.getPartition(key).getPartitionId();
+            return partitions.computeIfAbsent(partitionId, id -> new TreeSet<>(comparator));
+        }
+
+        // Runs off the put path, so puts never pay for eviction
+        private void evictAll() {
+            for (NavigableSet<K> keys : partitions.values()) {
+                List<K> batch = new ArrayList<>();
+                synchronized (keys) {
+                    if (keys.size() <= highWaterMark) {
+                        continue;
+                    }
+                    while (keys.size() > lowWaterMark) {
+                        batch.add(keys.pollFirst());
+                    }
+                }
+                for (K key : batch) {
+                    map.evict(key);
+                }
+            }
+        }
+    }
+}
+//end::mbe[]
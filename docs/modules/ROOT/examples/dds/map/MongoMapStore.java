@@ -0,0 +1,159 @@
+package dds.map;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.MapLoaderLifecycleSupport;
+import com.hazelcast.map.MapStore;
+import com.mongodb.MongoClient;
+import com.mongodb.MongoClientURI;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Projections.include;
+
+//tag::mongoms[]
+public class MongoMapStore implements MapStore<String, Supplement>, MapLoaderLifecycleSupport {
+
+    private static final Bson VALUE_FIELDS = include("name", "price");
+    private static final ReplaceOptions UPSERT = new ReplaceOptions().upsert(true);
+
+    private MongoClient mongoClient;
+    private MongoCollection<Document> collection;
+    private ExecutorService loadExecutor;
+    private int batchSize;
+    private int loadChunkSize;
+
+    @Override
+    public void init(HazelcastInstance hazelcastInstance, Properties properties, String mapName) {
+        String mongoUrl = properties.getProperty("mongo.url");
+        String dbName = properties.getProperty("mongo.db");
+        String collectionName = properties.getProperty("mongo.collection");
+        batchSize = Integer.parseInt(properties.getProperty("mongo.batch.size", "1000"));
+        loadChunkSize = Integer.parseInt(properties.getProperty("mongo.load.chunk.size", "1000"));
+        int loadParallelism = Integer.parseInt(properties.getProperty("mongo.load.parallelism", "4"));
+
+        mongoClient = new MongoClient(new MongoClientURI(mongoUrl));
+        collection = mongoClient.getDatabase(dbName).getCollection(collectionName);
+        loadExecutor = Executors.newFixedThreadPool(loadParallelism);
+    }
+
+    @Override
+    public void destroy() {
+        loadExecutor.shutdown();
+        mongoClient.close();
+    }
+
+    @Override
+    public Supplement load(String key) {
+        Document document = collection.find(eq("_id", key)).projection(VALUE_FIELDS).first();
+        return document == null ? null : toSupplement(document);
+    }
+
+    @Override
+    public Map<String, Supplement> loadAll(Collection<String> keys) {
+        Map<String, Supplement> result = new ConcurrentHashMap<>();
+        if (keys.size() <= loadChunkSize) {
+            loadChunk(keys, result);
+            return result;
+        }
+
+        // Large key sets are split into chunks that are queried concurrently
+        List<Future<?>> futures = new ArrayList<>();
+        List<String> chunk = new ArrayList<>(loadChunkSize);
+        for (String key : keys) {
+            chunk.add(key);
+            if (chunk.size() == loadChunkSize) {
+                List<String> chunkKeys = chunk;
+                futures.add(loadExecutor.submit(() -> loadChunk(chunkKeys, result)));
+                chunk = new ArrayList<>(loadChunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            loadChunk(chunk, result);
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        return result;
+    }
+
+    private void loadChunk(Collection<String> keys, Map<String, Supplement> result) {
+        for (Document document : collection.find(in("_id", keys)).projection(VALUE_FIELDS)) {
+            result.put(document.getString("_id"), toSupplement(document));
+        }
+    }
+
+    // The iterator of the returned iterable is a MongoCursor, which is Closeable,
+    // so Hazelcast closes it when it has finished iterating over the keys
+    @Override
+    public Iterable<String> loadAllKeys() {
+        return collection.find()
+                .projection(include("_id"))
+                .batchSize(batchSize)
+                .map(document -> document.getString("_id"));
+    }
+
+    @Override
+    public void store(String key, Supplement value) {
+        collection.replaceOne(eq("_id", key), toDocument(key, value), UPSERT);
+    }
+
+    @Override
+    public void storeAll(Map<String, Supplement> map) {
+        List<WriteModel<Document>> batch = new ArrayList<>(Math.min(map.size(), batchSize));
+        for (Map.Entry<String, Supplement> entry : map.entrySet()) {
+            String key = entry.getKey();
+            batch.add(new ReplaceOneModel<>(eq("_id", key), toDocument(key, entry.getValue()), UPSERT));
+            if (batch.size() == batchSize) {
+                collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        collection.deleteOne(eq("_id", key));
+    }
+
+    @Override
+    public void deleteAll(Collection<String> keys) {
+        collection.deleteMany(in("_id", keys));
+    }
+
+    private static Document toDocument(String key, Supplement value) {
+        return new Document("_id", key).append("name", value.getName()).append("price", value.getPrice());
+    }
+
+    private static Supplement toSupplement(Document document) {
+        return new Supplement(document.getString("name"), document.getInteger("price"));
+    }
+}
+//end::mongoms[]
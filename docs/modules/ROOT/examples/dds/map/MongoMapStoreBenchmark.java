@@ -0,0 +1,72 @@
+package dds.map;
+
+import com.hazelcast.map.MapLoaderLifecycleSupport;
+import com.hazelcast.map.MapStore;
+import com.mongodb.MongoClient;
+import com.mongodb.MongoClientURI;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+// Measures write-behind flush throughput of YourMapStoreImplementation and
+// MongoMapStore. Start a local MongoDB first, for example with
+// "docker run -p 27017:27017 mongo", or set the mongo.url system property.
+public class MongoMapStoreBenchmark {
+
+    private static final int FLUSHES = 50;
+    private static final int ENTRIES_PER_FLUSH = 10_000;
+
+    public static void main(String[] args) {
+        //tag::mongomsbenchmark[]
+        Properties properties = new Properties();
+        properties.setProperty("mongo.url", System.getProperty("mongo.url", "mongodb://localhost:27017"));
+        properties.setProperty("mongo.db", "benchmark");
+        properties.setProperty("mongo.batch.size", "1000");
+
+        properties.setProperty("mongo.collection", "supplements_insert");
+        run("YourMapStoreImplementation", new YourMapStoreImplementation(), properties);
+
+        properties.setProperty("mongo.collection", "supplements_upsert");
+        run("MongoMapStore", new MongoMapStore(), properties);
+        //end::mongomsbenchmark[]
+    }
+
+    private static <S extends MapStore<String, Supplement> & MapLoaderLifecycleSupport> void run(
+            String name, S mapStore, Properties properties) {
+        dropCollection(properties);
+        mapStore.init(null, properties, "supplements");
+        try {
+            long start = System.nanoTime();
+            for (int flush = 0; flush < FLUSHES; flush++) {
+                mapStore.storeAll(entries(flush));
+            }
+            long nanos = System.nanoTime() - start;
+            long entries = (long) FLUSHES * ENTRIES_PER_FLUSH;
+            System.out.printf("%-28s %,d entries in %,d ms (%,d entries/s)%n",
+                    name, entries, nanos / 1_000_000, entries * 1_000_000_000L / Math.max(nanos, 1));
+        } finally {
+            mapStore.destroy();
+        }
+    }
+
+    private static Map<String, Supplement> entries(int flush) {
+        Map<String, Supplement> entries = new HashMap<>();
+        for (int i = 0; i < ENTRIES_PER_FLUSH; i++) {
+            int id = flush * ENTRIES_PER_FLUSH + i;
+            entries.put("supplement-" + id, new Supplement("name-" + id, id % 100));
+        }
+        return entries;
+    }
+
+    private static void dropCollection(Properties properties) {
+        MongoClient client = new MongoClient(new MongoClientURI(properties.getProperty("mongo.url")));
+        try {
+            client.getDatabase(properties.getProperty("mongo.db"))
+                    .getCollection(properties.getProperty("mongo.collection"))
+                    .drop();
+        } finally {
+            client.close();
+        }
+    }
+}
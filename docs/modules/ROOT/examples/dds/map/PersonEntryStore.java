@@ -13,14 +13,12 @@ import java.util.Map;
 public class PersonEntryStore implements EntryStore<Long, Person> {
 
     private final Connection con;
-    private final PreparedStatement allKeysStatement;
 
     public PersonEntryStore() {
         try {
             con = DriverManager.getConnection("jdbc:hsqldb:mydatabase", "SA", "");
             con.createStatement().executeUpdate(
                     "create table if not exists person (id bigint not null, name varchar(45), expiration-date bigint, primary key (id))");
-            allKeysStatement = con.prepareStatement("select id from person");
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -94,7 +92,7 @@ public class PersonEntryStore implements EntryStore<Long, Person> {
 
     @Override
     public Iterable<Long> loadAllKeys() {
-        return new StatementIterable<>(allKeysStatement);
+        return new StatementIterable<>(con, "select id from person", 1000, Long.class);
     }
 }
 //end::personms[]
@@ -13,14 +13,12 @@ import java.util.Map;
 public class PersonMapStore implements MapStore<Long, Person> {
 
     private final Connection con;
-    private final PreparedStatement allKeysStatement;
 
     public PersonMapStore() {
         try {
             con = DriverManager.getConnection("jdbc:hsqldb:mydatabase", "SA", "");
             con.createStatement().executeUpdate(
                     "create table if not exists person (id bigint not null, name varchar(45), primary key (id))");
-            allKeysStatement = con.prepareStatement("select id from person");
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -92,7 +90,7 @@ public class PersonMapStore implements MapStore<Long, Person> {
 
     @Override
     public Iterable<Long> loadAllKeys() {
-        return new StatementIterable<>(allKeysStatement);
+        return new StatementIterable<>(con, "select id from person", 1000, Long.class);
     }
 }
 //end::personms[]
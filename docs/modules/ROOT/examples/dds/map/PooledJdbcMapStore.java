@@ -0,0 +1,315 @@
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.MapLoaderLifecycleSupport;
+import com.hazelcast.map.MapStore;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+//tag::pooledms[]
+public class PooledJdbcMapStore<V> implements MapStore<Long, V>, MapLoaderLifecycleSupport {
+
+    // Maps the current row of a result set to a value
+    public interface RowMapper<V> {
+        V map(Long key, ResultSet resultSet) throws SQLException;
+    }
+
+    // Binds the value columns of a row, starting at the given parameter index
+    public interface ValueBinder<V> {
+        void bind(PreparedStatement stmt, int firstIndex, V value) throws SQLException;
+    }
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final String table;
+    private final String keyColumn;
+    private final String valueColumns;
+    private final String upsertSql;
+    private final RowMapper<V> rowMapper;
+    private final ValueBinder<V> valueBinder;
+
+    private int poolSize = 8;
+    private int batchSize = 500;
+    private BlockingQueue<PooledConnection> pool;
+
+    public PooledJdbcMapStore(String url, String user, String password,
+                              String table, String keyColumn, String valueColumns,
+                              String upsertSql, RowMapper<V> rowMapper, ValueBinder<V> valueBinder) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.table = table;
+        this.keyColumn = keyColumn;
+        this.valueColumns = valueColumns;
+        this.upsertSql = upsertSql;
+        this.rowMapper = rowMapper;
+        this.valueBinder = valueBinder;
+    }
+
+    @Override
+    public void init(HazelcastInstance hazelcastInstance, Properties properties, String mapName) {
+        poolSize = Integer.parseInt(properties.getProperty("jdbc.pool.size", String.valueOf(poolSize)));
+        batchSize = Integer.parseInt(properties.getProperty("jdbc.batch.size", String.valueOf(batchSize)));
+        pool = new ArrayBlockingQueue<>(poolSize);
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                pool.add(new PooledConnection(url, user, password));
+            }
+        } catch (SQLException e) {
+            destroy();
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (pool == null) {
+            return;
+        }
+        PooledConnection connection;
+        while ((connection = pool.poll()) != null) {
+            connection.close();
+        }
+    }
+
+    @Override
+    public void store(Long key, V value) {
+        storeAll(Collections.singletonMap(key, value));
+    }
+
+    @Override
+    public void storeAll(Map<Long, V> map) {
+        PooledConnection connection = acquire();
+        boolean committed = false;
+        try {
+            PreparedStatement stmt = connection.prepare(upsertSql);
+            int pending = 0;
+            for (Map.Entry<Long, V> entry : map.entrySet()) {
+                stmt.setLong(1, entry.getKey());
+                valueBinder.bind(stmt, 2, entry.getValue());
+                stmt.addBatch();
+                if (++pending == batchSize) {
+                    stmt.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                stmt.executeBatch();
+            }
+            connection.commit();
+            committed = true;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            // Also runs for exceptions thrown by the value binder
+            if (!committed) {
+                connection.reset();
+            }
+            release(connection);
+        }
+    }
+
+    @Override
+    public void delete(Long key) {
+        deleteAll(Collections.singletonList(key));
+    }
+
+    @Override
+    public void deleteAll(Collection<Long> keys) {
+        PooledConnection connection = acquire();
+        boolean committed = false;
+        try {
+            PreparedStatement stmt = connection.prepare("delete from " + table + " where " + keyColumn + " = ?");
+            int pending = 0;
+            for (Long key : keys) {
+                stmt.setLong(1, key);
+                stmt.addBatch();
+                if (++pending == batchSize) {
+                    stmt.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                stmt.executeBatch();
+            }
+            connection.commit();
+            committed = true;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            // Also runs for exceptions thrown by the value binder
+            if (!committed) {
+                connection.reset();
+            }
+            release(connection);
+        }
+    }
+
+    @Override
+    public V load(Long key) {
+        return loadAll(Collections.singletonList(key)).get(key);
+    }
+
+    @Override
+    public Map<Long, V> loadAll(Collection<Long> keys) {
+        Map<Long, V> result = new HashMap<>();
+        PooledConnection connection = acquire();
+        try {
+            Iterator<Long> iterator = keys.iterator();
+            List<Long> chunk = new ArrayList<>(batchSize);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == batchSize || !iterator.hasNext()) {
+                    loadChunk(connection, chunk, result);
+                    chunk.clear();
+                }
+            }
+            return result;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            // Ends the read transaction, which auto-commit mode would have ended
+            connection.reset();
+            release(connection);
+        }
+    }
+
+    // One "where id in (...)" query per chunk. Only full-size chunks and
+    // single keys are cached, so the statement cache stays small.
+    private void loadChunk(PooledConnection connection, List<Long> chunk, Map<Long, V> result)
+            throws SQLException {
+        StringBuilder sql = new StringBuilder("select ").append(keyColumn).append(", ").append(valueColumns)
+                .append(" from ").append(table).append(" where ").append(keyColumn).append(" in (");
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+
+        boolean cacheable = chunk.size() == batchSize || chunk.size() == 1;
+        PreparedStatement stmt = cacheable
+                ? connection.prepare(sql.toString())
+                : connection.prepareUncached(sql.toString());
+        try {
+            for (int i = 0; i < chunk.size(); i++) {
+                stmt.setLong(i + 1, chunk.get(i));
+            }
+            try (ResultSet resultSet = stmt.executeQuery()) {
+                while (resultSet.next()) {
+                    long key = resultSet.getLong(1);
+                    result.put(key, rowMapper.map(key, resultSet));
+                }
+            }
+        } finally {
+            if (!cacheable) {
+                stmt.close();
+            }
+        }
+    }
+
+    @Override
+    public Iterable<Long> loadAllKeys() {
+        // No eager pre-loading; entries are loaded on demand
+        return null;
+    }
+
+    private PooledConnection acquire() {
+        try {
+            return pool.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a JDBC connection", e);
+        }
+    }
+
+    private void release(PooledConnection connection) {
+        pool.offer(connection);
+    }
+
+    // A connection with its cached statements. A broken connection is closed
+    // and opened again on its next use, so the pool keeps its size.
+    private static final class PooledConnection {
+
+        private final String url;
+        private final String user;
+        private final String password;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+        private Connection connection;
+
+        PooledConnection(String url, String user, String password) throws SQLException {
+            this.url = url;
+            this.user = user;
+            this.password = password;
+            connection();
+        }
+
+        private Connection connection() throws SQLException {
+            if (connection == null) {
+                connection = DriverManager.getConnection(url, user, password);
+                connection.setAutoCommit(false);
+            }
+            return connection;
+        }
+
+        PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement stmt = statements.get(sql);
+            if (stmt == null) {
+                stmt = connection().prepareStatement(sql);
+                statements.put(sql, stmt);
+            }
+            return stmt;
+        }
+
+        PreparedStatement prepareUncached(String sql) throws SQLException {
+            return connection().prepareStatement(sql);
+        }
+
+        void commit() throws SQLException {
+            connection().commit();
+        }
+
+        // Discards rows that are still queued in a batch and rolls back the
+        // transaction, so that the next user starts clean
+        void reset() {
+            if (connection == null) {
+                return;
+            }
+            try {
+                for (PreparedStatement stmt : statements.values()) {
+                    stmt.clearBatch();
+                }
+                connection.rollback();
+                if (!connection.isValid(1)) {
+                    close();
+                }
+            } catch (SQLException e) {
+                close();
+            }
+        }
+
+        // Also closes the cached statements
+        void close() {
+            statements.clear();
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException ignored) {
+                }
+                connection = null;
+            }
+        }
+    }
+}
+//end::pooledms[]
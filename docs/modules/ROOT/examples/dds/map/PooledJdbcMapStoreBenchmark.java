@@ -0,0 +1,117 @@
+import com.hazelcast.map.MapStore;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Compares the synchronized PersonMapStore with PooledJdbcMapStore on the
+// embedded HSQLDB database by simulating concurrent write-behind flushes.
+// PersonMapStore prints every deleted key, which would make the comparison
+// measure console output, so deleteAll() is only timed for PooledJdbcMapStore.
+public class PooledJdbcMapStoreBenchmark {
+
+    private static final String URL = "jdbc:hsqldb:mydatabase";
+    private static final int THREADS = 8;
+    private static final int BATCHES_PER_THREAD = 20;
+    private static final int BATCH_SIZE = 1000;
+
+    public static void main(String[] args) throws Exception {
+        //tag::pooledmsbenchmark[]
+        PersonMapStore personMapStore = new PersonMapStore();
+        run("PersonMapStore", personMapStore, false);
+
+        PooledJdbcMapStore<Person> pooledMapStore = new PooledJdbcMapStore<>(URL, "SA", "",
+                "person", "id", "name",
+                "merge into person using (values(cast(? as bigint), cast(? as varchar(45)))) as v(id, name) "
+                        + "on person.id = v.id "
+                        + "when matched then update set person.name = v.name "
+                        + "when not matched then insert values v.id, v.name",
+                (key, resultSet) -> new Person(key, resultSet.getString(2)),
+                (stmt, index, person) -> stmt.setString(index, person.getName()));
+        Properties properties = new Properties();
+        properties.setProperty("jdbc.pool.size", String.valueOf(THREADS));
+        properties.setProperty("jdbc.batch.size", String.valueOf(BATCH_SIZE));
+        pooledMapStore.init(null, properties, "person");
+        try {
+            run("PooledJdbcMapStore", pooledMapStore, true);
+        } finally {
+            pooledMapStore.destroy();
+        }
+        //end::pooledmsbenchmark[]
+    }
+
+    private static void run(String name, MapStore<Long, Person> mapStore, boolean timeDeletes) throws Exception {
+        clearTable();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long storeNanos = timed(executor, threadId -> {
+                for (int batch = 0; batch < BATCHES_PER_THREAD; batch++) {
+                    mapStore.storeAll(entries(threadId, batch));
+                }
+            });
+            long loadNanos = timed(executor, threadId -> {
+                for (int batch = 0; batch < BATCHES_PER_THREAD; batch++) {
+                    mapStore.loadAll(entries(threadId, batch).keySet());
+                }
+            });
+            long rows = (long) THREADS * BATCHES_PER_THREAD * BATCH_SIZE;
+            System.out.printf("%-20s storeAll: %,10d rows/s  loadAll: %,10d rows/s",
+                    name, perSecond(rows, storeNanos), perSecond(rows, loadNanos));
+            if (timeDeletes) {
+                long deleteNanos = timed(executor, threadId -> {
+                    for (int batch = 0; batch < BATCHES_PER_THREAD; batch++) {
+                        mapStore.deleteAll(entries(threadId, batch).keySet());
+                    }
+                });
+                System.out.printf("  deleteAll: %,10d rows/s", perSecond(rows, deleteNanos));
+            }
+            System.out.println();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long timed(ExecutorService executor, ThreadTask task) throws Exception {
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int threadId = i;
+            futures.add(executor.submit(() -> task.run(threadId)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static Map<Long, Person> entries(int threadId, int batch) {
+        Map<Long, Person> entries = new HashMap<>();
+        long first = ((long) threadId * BATCHES_PER_THREAD + batch) * BATCH_SIZE;
+        for (long id = first; id < first + BATCH_SIZE; id++) {
+            entries.put(id, new Person(id, "name-" + id));
+        }
+        return entries;
+    }
+
+    private static long perSecond(long rows, long nanos) {
+        return rows * 1_000_000_000L / Math.max(nanos, 1);
+    }
+
+    private static void clearTable() throws SQLException {
+        try (Connection con = DriverManager.getConnection(URL, "SA", "")) {
+            con.createStatement().executeUpdate("delete from person");
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int threadId);
+    }
+}
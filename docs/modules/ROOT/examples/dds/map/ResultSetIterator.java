@@ -2,45 +2,84 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 public class ResultSetIterator<T> implements Iterator<T>, Closeable {
 
-    private ResultSet resultSet;
+    private final Statement statement;
+    private final ResultSet resultSet;
+    private final Class<T> type;
+    private boolean hasNext;
+    private boolean advanced;
+    private boolean closed;
 
-    public ResultSetIterator(ResultSet resultSet) {
+    public ResultSetIterator(Statement statement, ResultSet resultSet, Class<T> type) {
+        this.statement = statement;
         this.resultSet = resultSet;
+        this.type = type;
     }
 
     @Override
     public boolean hasNext() {
-        try {
-            return resultSet.next();
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+        if (closed) {
+            return false;
         }
+        if (!advanced) {
+            try {
+                hasNext = resultSet.next();
+                advanced = true;
+            } catch (SQLException e) {
+                closeQuietly();
+                throw new RuntimeException(e);
+            }
+            // Release the cursor as soon as the last row is read, even if
+            // the caller never closes the iterator.
+            if (!hasNext) {
+                closeQuietly();
+            }
+        }
+        return hasNext;
     }
 
     @Override
     public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        advanced = false;
         try {
-            return (T) resultSet.getObject(1);
+            return resultSet.getObject(1, type);
         } catch (SQLException e) {
+            closeQuietly();
             throw new RuntimeException(e);
         }
     }
 
     @Override
     public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
         try {
             resultSet.close();
+            statement.close();
         } catch (SQLException e) {
             throw new IOException(e);
         }
     }
 
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException ignored) {
+        }
+    }
+
     @Override
     public void remove() {
         throw new UnsupportedOperationException();
     }
-}
\ No newline at end of file
+}
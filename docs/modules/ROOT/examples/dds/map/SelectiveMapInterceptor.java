@@ -0,0 +1,131 @@
+import com.hazelcast.map.MapInterceptor;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+//tag::smi[]
+public class SelectiveMapInterceptor implements MapInterceptor {
+
+    public enum Operation { GET, PUT, REMOVE }
+
+    // Latency per interceptor and operation, shared by all maps on this member
+    private static final Map<String, LongAdder[]> LATENCIES = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final MapInterceptor delegate;
+    private final Set<Operation> operations;
+
+    public SelectiveMapInterceptor(String name, MapInterceptor delegate, Set<Operation> operations) {
+        this.name = name;
+        this.delegate = delegate;
+        this.operations = EnumSet.copyOf(operations);
+    }
+
+    @Override
+    public Object interceptGet(Object value) {
+        if (!operations.contains(Operation.GET)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            return delegate.interceptGet(value);
+        } finally {
+            record(Operation.GET, start);
+        }
+    }
+
+    @Override
+    public void afterGet(Object value) {
+        if (operations.contains(Operation.GET)) {
+            delegate.afterGet(value);
+        }
+    }
+
+    @Override
+    public Object interceptPut(Object oldValue, Object newValue) {
+        if (!operations.contains(Operation.PUT)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            return delegate.interceptPut(oldValue, newValue);
+        } finally {
+            record(Operation.PUT, start);
+        }
+    }
+
+    @Override
+    public void afterPut(Object value) {
+        if (operations.contains(Operation.PUT)) {
+            delegate.afterPut(value);
+        }
+    }
+
+    @Override
+    public Object interceptRemove(Object removedValue) {
+        if (!operations.contains(Operation.REMOVE)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            return delegate.interceptRemove(removedValue);
+        } finally {
+            record(Operation.REMOVE, start);
+        }
+    }
+
+    @Override
+    public void afterRemove(Object value) {
+        if (operations.contains(Operation.REMOVE)) {
+            delegate.afterRemove(value);
+        }
+    }
+
+    private void record(Operation operation, long startNanos) {
+        LongAdder[] adders = LATENCIES.computeIfAbsent(name, n -> {
+            LongAdder[] created = new LongAdder[Operation.values().length * 2];
+            for (int i = 0; i < created.length; i++) {
+                created[i] = new LongAdder();
+            }
+            return created;
+        });
+        adders[operation.ordinal() * 2].increment();
+        adders[operation.ordinal() * 2 + 1].add(System.nanoTime() - startNanos);
+    }
+
+    // Prints the call count and average latency of each intercepted operation
+    public static void printLatencies() {
+        LATENCIES.forEach((name, adders) -> {
+            for (Operation operation : Operation.values()) {
+                long count = adders[operation.ordinal() * 2].sum();
+                if (count > 0) {
+                    long totalNanos = adders[operation.ordinal() * 2 + 1].sum();
+                    System.out.printf("%s %s: %d calls, %,d ns average%n",
+                            name, operation, count, totalNanos / count);
+                }
+            }
+        });
+    }
+
+    // Interceptors with equal names and operations are registered only once
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SelectiveMapInterceptor)) {
+            return false;
+        }
+        SelectiveMapInterceptor that = (SelectiveMapInterceptor) o;
+        return name.equals(that.name) && operations.equals(that.operations);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * name.hashCode() + operations.hashCode();
+    }
+}
+//end::smi[]
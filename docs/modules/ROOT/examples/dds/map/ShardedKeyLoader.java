@@ -0,0 +1,103 @@
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.map.IMap;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+//tag::skl[]
+public class ShardedKeyLoader implements Callable<Long>, Serializable, HazelcastInstanceAware {
+
+    private final String mapName;
+    private final String url;
+    private final String user;
+    private final String password;
+    private final String table;
+    private final String keyColumn;
+    private final int fetchSize;
+    private final int batchSize;
+
+    private transient HazelcastInstance hazelcastInstance;
+
+    public ShardedKeyLoader(String mapName, String url, String user, String password,
+                            String table, String keyColumn, int fetchSize, int batchSize) {
+        this.mapName = mapName;
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.table = table;
+        this.keyColumn = keyColumn;
+        this.fetchSize = fetchSize;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
+        this.hazelcastInstance = hazelcastInstance;
+    }
+
+    @Override
+    public Long call() throws Exception {
+        // The member list has the same order on every member,
+        // so each member can compute its own shard of the key range
+        List<Member> members = new ArrayList<>(hazelcastInstance.getCluster().getMembers());
+        int memberIndex = members.indexOf(hazelcastInstance.getCluster().getLocalMember());
+        int memberCount = members.size();
+
+        IMap<Long, ?> map = hazelcastInstance.getMap(mapName);
+        long loaded = 0;
+        try (Connection con = DriverManager.getConnection(url, user, password)) {
+            // Some drivers only use a server-side cursor outside auto-commit mode
+            con.setAutoCommit(false);
+            long[] range = keyRange(con);
+            if (range == null) {
+                return 0L;
+            }
+            long shardSize = (range[1] - range[0]) / memberCount + 1;
+            long from = range[0] + memberIndex * shardSize;
+            long to = Math.min(range[1], from + shardSize - 1);
+
+            StatementIterable<Long> keys = new StatementIterable<>(con,
+                    "select " + keyColumn + " from " + table
+                            + " where " + keyColumn + " between " + from + " and " + to,
+                    fetchSize, Long.class);
+            try (ResultSetIterator<Long> iterator = (ResultSetIterator<Long>) keys.iterator()) {
+                List<Long> batch = new ArrayList<>(batchSize);
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    if (batch.size() == batchSize || !iterator.hasNext()) {
+                        // Values are loaded by the owner of each key via MapLoader.loadAll()
+                        map.loadAll(new HashSet<>(batch), false);
+                        loaded += batch.size();
+                        batch.clear();
+                    }
+                }
+            }
+        }
+        System.out.println("Member " + memberIndex + " loaded " + loaded + " keys");
+        return loaded;
+    }
+
+    private long[] keyRange(Connection con) throws SQLException {
+        try (PreparedStatement stmt = con.prepareStatement(
+                "select min(" + keyColumn + "), max(" + keyColumn + ") from " + table);
+             ResultSet resultSet = stmt.executeQuery()) {
+            resultSet.next();
+            long min = resultSet.getLong(1);
+            if (resultSet.wasNull()) {
+                return null;
+            }
+            return new long[]{min, resultSet.getLong(2)};
+        }
+    }
+}
+//end::skl[]
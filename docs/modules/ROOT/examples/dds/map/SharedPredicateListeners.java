@@ -0,0 +1,180 @@
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapEvent;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryLoadedListener;
+import com.hazelcast.map.listener.EntryMergedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import com.hazelcast.map.listener.MapEvictedListener;
+import com.hazelcast.map.listener.MapListener;
+import com.hazelcast.query.Predicates;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+//tag::spl[]
+public class SharedPredicateListeners<K, V> {
+
+    private final IMap<K, V> map;
+    private final Map<String, FanOutListener<K, V>> listenersByPredicate = new ConcurrentHashMap<>();
+
+    public SharedPredicateListeners(IMap<K, V> map) {
+        this.map = map;
+    }
+
+    // Registers the listener on the map only for the first listener with
+    // this predicate and includeValue setting. Later listeners share the same
+    // registration, so the predicate is evaluated once per event, however
+    // many listeners use it. The map is called outside the ConcurrentHashMap
+    // so that a slow registration blocks only the listeners of one predicate.
+    public void addEntryListener(String sqlPredicate, boolean includeValue, MapListener listener) {
+        String key = key(sqlPredicate, includeValue);
+        while (true) {
+            FanOutListener<K, V> fanOut = listenersByPredicate.computeIfAbsent(key, k -> new FanOutListener<>());
+            synchronized (fanOut) {
+                if (fanOut.removed) {
+                    // Its last listener was removed concurrently, use a new one
+                    continue;
+                }
+                fanOut.listeners.add(listener);
+                if (fanOut.registrationId == null) {
+                    try {
+                        fanOut.registrationId = map.addEntryListener(fanOut, Predicates.sql(sqlPredicate), includeValue);
+                    } catch (RuntimeException e) {
+                        fanOut.listeners.remove(listener);
+                        if (fanOut.listeners.isEmpty()) {
+                            fanOut.removed = true;
+                            listenersByPredicate.remove(key, fanOut);
+                        }
+                        throw e;
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    public void removeEntryListener(String sqlPredicate, boolean includeValue, MapListener listener) {
+        String key = key(sqlPredicate, includeValue);
+        FanOutListener<K, V> fanOut = listenersByPredicate.get(key);
+        if (fanOut == null) {
+            return;
+        }
+        UUID registrationId;
+        synchronized (fanOut) {
+            if (!fanOut.listeners.remove(listener) || !fanOut.listeners.isEmpty()) {
+                return;
+            }
+            fanOut.removed = true;
+            listenersByPredicate.remove(key, fanOut);
+            registrationId = fanOut.registrationId;
+        }
+        map.removeEntryListener(registrationId);
+    }
+
+    private static String key(String sqlPredicate, boolean includeValue) {
+        return (includeValue ? "values:" : "keys:") + sqlPredicate;
+    }
+
+    // Forwards every event type that a MapListener can receive to the
+    // listeners that implement the matching interface
+    @SuppressWarnings("unchecked")
+    private static class FanOutListener<K, V> implements EntryAddedListener<K, V>,
+            EntryUpdatedListener<K, V>, EntryRemovedListener<K, V>, EntryEvictedListener<K, V>,
+            EntryExpiredListener<K, V>, EntryMergedListener<K, V>, EntryLoadedListener<K, V>,
+            MapClearedListener, MapEvictedListener {
+
+        private final List<MapListener> listeners = new CopyOnWriteArrayList<>();
+        private UUID registrationId;
+        private boolean removed;
+
+        @Override
+        public void entryAdded(EntryEvent<K, V> event) {
+            for (MapListener listener : listeners) {
+                if (listener instanceof EntryAddedListener) {
+                    ((EntryAddedListener<K, V>) listener).entryAdded(event);
+                }
+            }
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<K, V> event) {
+            for (MapListener listener : listeners) {
+                if (listener instanceof EntryUpdatedListener) {
+                    ((EntryUpdatedListener<K, V>) listener).entryUpdated(event);
+                }
+            }
+        }
+
+        @Override
+        public void entryRemoved(EntryEvent<K, V> event) {
+            for (MapListener listener : listeners) {
+                if (listener instanceof EntryRemovedListener) {
+                    ((EntryRemovedListener<K, V>) listener).entryRemoved(event);
+                }
+            }
+        }
+
+        @Override
+        public void entryEvicted(EntryEvent<K, V> event) {
+            for (MapListener listener : listeners) {
+                if (listener instanceof EntryEvictedListener) {
+                    ((EntryEvictedListener<K, V>) listener).entryEvicted(event);
+                }
+            }
+        }
+
+        @Override
+        public void entryExpired(EntryEvent<K, V> event) {
+            for (MapListener listener : listeners) {
+                if (listener instanceof EntryExpiredListener) {
+                    ((EntryExpiredListener<K, V>) listener).entryExpired(event);
+                }
+            }
+        }
+
+        @Override
+        public void entryMerged(EntryEvent<K, V> event) {
+            for (MapListener listener : listeners) {
+                if (listener instanceof EntryMergedListener) {
+                    ((EntryMergedListener<K, V>) listener).entryMerged(event);
+                }
+            }
+        }
+
+        @Override
+        public void entryLoaded(EntryEvent<K, V> event) {
+            for (MapListener listener : listeners) {
+                if (listener instanceof EntryLoadedListener) {
+                    ((EntryLoadedListener<K, V>) listener).entryLoaded(event);
+                }
+            }
+        }
+
+        @Override
+        public void mapCleared(MapEvent event) {
+            for (MapListener listener : listeners) {
+                if (listener instanceof MapClearedListener) {
+                    ((MapClearedListener) listener).mapCleared(event);
+                }
+            }
+        }
+
+        @Override
+        public void mapEvicted(MapEvent event) {
+            for (MapListener listener : listeners) {
+                if (listener instanceof MapEvictedListener) {
+                    ((MapEvictedListener) listener).mapEvicted(event);
+                }
+            }
+        }
+    }
+}
+//end::spl[]
@@ -1,21 +1,40 @@
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.Iterator;
 
 public class StatementIterable<T> implements Iterable<T> {
 
-    private PreparedStatement statement;
+    private final Connection connection;
+    private final String sql;
+    private final int fetchSize;
+    private final Class<T> type;
 
-    public StatementIterable(PreparedStatement statement) {
-        this.statement = statement;
+    public StatementIterable(Connection connection, String sql, int fetchSize, Class<T> type) {
+        this.connection = connection;
+        this.sql = sql;
+        this.fetchSize = fetchSize;
+        this.type = type;
     }
 
+    // Each iterator runs its own statement, so concurrent or repeated
+    // iterations do not close each other's cursors.
     @Override
     public Iterator<T> iterator() {
+        PreparedStatement statement = null;
         try {
-            return new ResultSetIterator<>(statement.executeQuery());
+            statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            return new ResultSetIterator<>(statement, statement.executeQuery(), type);
         } catch (SQLException e) {
+            if (statement != null) {
+                try {
+                    statement.close();
+                } catch (SQLException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
             throw new RuntimeException(e);
         }
     }
-}
\ No newline at end of file
+}
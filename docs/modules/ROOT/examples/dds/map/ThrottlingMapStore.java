@@ -0,0 +1,148 @@
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.MapLoaderLifecycleSupport;
+import com.hazelcast.map.MapStore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+//tag::throttlingms[]
+public class ThrottlingMapStore<K, V> implements MapStore<K, V>, MapLoaderLifecycleSupport {
+
+    private final MapStore<K, V> delegate;
+    private final long maxRowsPerSecond;
+    private final long targetBatchNanos;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+
+    private volatile int batchSize;
+    // Time at which the next row may be written, shared by all flushing threads
+    private long nextFreeNanos = System.nanoTime();
+
+    public ThrottlingMapStore(MapStore<K, V> delegate, long maxRowsPerSecond,
+                              long targetBatchMillis, int minBatchSize, int maxBatchSize) {
+        this.delegate = delegate;
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        this.targetBatchNanos = TimeUnit.MILLISECONDS.toNanos(targetBatchMillis);
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSize = minBatchSize;
+    }
+
+    @Override
+    public void init(HazelcastInstance hazelcastInstance, Properties properties, String mapName) {
+        if (delegate instanceof MapLoaderLifecycleSupport) {
+            ((MapLoaderLifecycleSupport) delegate).init(hazelcastInstance, properties, mapName);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (delegate instanceof MapLoaderLifecycleSupport) {
+            ((MapLoaderLifecycleSupport) delegate).destroy();
+        }
+    }
+
+    @Override
+    public void store(K key, V value) {
+        acquire(1);
+        delegate.store(key, value);
+    }
+
+    @Override
+    public void storeAll(Map<K, V> map) {
+        Map<K, V> batch = new HashMap<>();
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= batchSize) {
+                storeBatch(batch);
+                batch = new HashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            storeBatch(batch);
+        }
+    }
+
+    private void storeBatch(Map<K, V> batch) {
+        acquire(batch.size());
+        long start = System.nanoTime();
+        delegate.storeAll(batch);
+        adaptBatchSize(batch.size(), System.nanoTime() - start);
+    }
+
+    // Shrinks the batch size when the data store is slower than the target
+    // latency, and grows it while the data store keeps up
+    private void adaptBatchSize(int size, long elapsedNanos) {
+        if (size < batchSize) {
+            return;
+        }
+        if (elapsedNanos > targetBatchNanos) {
+            batchSize = Math.max(minBatchSize, batchSize / 2);
+        } else if (elapsedNanos < targetBatchNanos / 2) {
+            batchSize = Math.min(maxBatchSize, batchSize + Math.max(1, batchSize / 4));
+        }
+    }
+
+    @Override
+    public void delete(K key) {
+        acquire(1);
+        delegate.delete(key);
+    }
+
+    @Override
+    public void deleteAll(Collection<K> keys) {
+        List<K> batch = new ArrayList<>();
+        for (K key : keys) {
+            batch.add(key);
+            if (batch.size() >= batchSize) {
+                acquire(batch.size());
+                delegate.deleteAll(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            acquire(batch.size());
+            delegate.deleteAll(batch);
+        }
+    }
+
+    @Override
+    public V load(K key) {
+        return delegate.load(key);
+    }
+
+    @Override
+    public Map<K, V> loadAll(Collection<K> keys) {
+        return delegate.loadAll(keys);
+    }
+
+    @Override
+    public Iterable<K> loadAllKeys() {
+        return delegate.loadAllKeys();
+    }
+
+    // Reserves a time slot for the given number of rows and parks the calling
+    // thread until that slot starts
+    private void acquire(int rows) {
+        long slotStart;
+        synchronized (this) {
+            long now = System.nanoTime();
+            slotStart = Math.max(now, nextFreeNanos);
+            nextFreeNanos = slotStart + rows * TimeUnit.SECONDS.toNanos(1) / maxRowsPerSecond;
+        }
+        long waitNanos;
+        while ((waitNanos = slotStart - System.nanoTime()) > 0) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Interrupted while waiting to write to the data store");
+            }
+            LockSupport.parkNanos(waitNanos);
+        }
+    }
+}
+//end::throttlingms[]
@@ -0,0 +1,112 @@
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.crdt.pncounter.PNCounter;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.IMap;
+import com.hazelcast.partition.PartitionService;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+//tag::vum[]
+public class VersionedUpdateMember {
+    public static void main( String[] args ) throws Exception {
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance();
+        IMap<String, Value> map = hz.getMap( "map" );
+        // Conflicts are counted per map, and can be watched in Management Center
+        PNCounter conflicts = hz.getPNCounter( "map.cas-conflicts" );
+        String key = "1";
+        map.put( key, new Value() );
+        System.out.println( "Starting" );
+        for ( int k = 0; k < 1000; k++ ) {
+            if ( k % 10 == 0 ) System.out.println( "At: " + k );
+            for (; ; ) {
+                Value oldValue = map.get( key );
+                Thread.sleep( 10 );
+                // Only the version token and the new amount are sent
+                if ( map.executeOnKey( key, new CompareVersionAndSet( oldValue.version, oldValue.amount + 1 ) ) )
+                    break;
+                conflicts.incrementAndGet();
+            }
+        }
+        System.out.println( "Finished! Result = " + map.get( key ).amount
+                + ", conflicts = " + conflicts.get() );
+
+        // Batch form: one invocation per partition instead of one per key.
+        // The keys are grouped by partition first, so that each partition
+        // receives only the versions and amounts of its own keys.
+        PartitionService partitionService = hz.getPartitionService();
+        Map<Integer, Map<String, Long>> expectedVersions = new HashMap<>();
+        Map<Integer, Map<String, Integer>> newAmounts = new HashMap<>();
+        for ( Map.Entry<String, Value> entry : map.getAll( map.keySet() ).entrySet() ) {
+            int partitionId = partitionService.getPartition( entry.getKey() ).getPartitionId();
+            expectedVersions.computeIfAbsent( partitionId, id -> new HashMap<>() )
+                    .put( entry.getKey(), entry.getValue().version );
+            newAmounts.computeIfAbsent( partitionId, id -> new HashMap<>() ).put( entry.getKey(), 0 );
+        }
+        List<CompletableFuture<Map<String, Boolean>>> futures = new ArrayList<>();
+        for ( Map.Entry<Integer, Map<String, Long>> partition : expectedVersions.entrySet() ) {
+            Map<String, Long> versions = partition.getValue();
+            futures.add( map.submitToKeys( versions.keySet(),
+                    new CompareVersionAndSetAll( versions, newAmounts.get( partition.getKey() ) ) )
+                    .toCompletableFuture() );
+        }
+        Map<String, Boolean> results = new HashMap<>();
+        for ( CompletableFuture<Map<String, Boolean>> future : futures ) {
+            results.putAll( future.get() );
+        }
+        System.out.println( "Batch reset: " + results );
+    }
+
+    static class Value implements Serializable {
+        public long version;
+        public int amount;
+    }
+
+    static class CompareVersionAndSet implements EntryProcessor<String, Value, Boolean> {
+        private final long expectedVersion;
+        private final int newAmount;
+
+        CompareVersionAndSet( long expectedVersion, int newAmount ) {
+            this.expectedVersion = expectedVersion;
+            this.newAmount = newAmount;
+        }
+
+        @Override
+        public Boolean process( Map.Entry<String, Value> entry ) {
+            return compareAndSet( entry, expectedVersion, newAmount );
+        }
+    }
+
+    static class CompareVersionAndSetAll implements EntryProcessor<String, Value, Boolean> {
+        private final Map<String, Long> expectedVersions;
+        private final Map<String, Integer> newAmounts;
+
+        CompareVersionAndSetAll( Map<String, Long> expectedVersions, Map<String, Integer> newAmounts ) {
+            this.expectedVersions = expectedVersions;
+            this.newAmounts = newAmounts;
+        }
+
+        @Override
+        public Boolean process( Map.Entry<String, Value> entry ) {
+            return compareAndSet( entry, expectedVersions.get( entry.getKey() ), newAmounts.get( entry.getKey() ) );
+        }
+    }
+
+    // Runs on the partition thread that owns the key, so no other update can interleave
+    static boolean compareAndSet( Map.Entry<String, Value> entry, long expectedVersion, int newAmount ) {
+        Value value = entry.getValue();
+        if ( value == null || value.version != expectedVersion ) {
+            return false;
+        }
+        value.version++;
+        value.amount = newAmount;
+        entry.setValue( value );
+        return true;
+    }
+}
+//end::vum[]
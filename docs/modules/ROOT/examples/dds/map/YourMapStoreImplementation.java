@@ -8,8 +8,9 @@ import com.mongodb.MongoClientURI;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.BulkWriteOptions;
-import com.mongodb.client.model.InsertOneModel;
 import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
 import org.bson.Document;
 
 import java.util.Collection;
@@ -82,19 +83,19 @@ public class YourMapStoreImplementation implements MapStore<String, Supplement>,
     @Override
     public void store(String key, Supplement value) {
         Document doc = new Document("name", value.getName()).append("price", value.getPrice()).append("_id", key);
-        this.collection.insertOne(doc);
-        //this.collection.replaceOne(doc, doc);
+        this.collection.replaceOne(eq("_id", key), doc, new ReplaceOptions().upsert(true));
     }
 
     @Override
     public void storeAll(Map<String, Supplement> map) {
-        List<InsertOneModel> batch = new LinkedList<InsertOneModel>();
+        List<ReplaceOneModel<Document>> batch = new LinkedList<ReplaceOneModel<Document>>();
         for (Map.Entry<String, Supplement> entry : map.entrySet()) {
             String key = entry.getKey();
             Supplement value = entry.getValue();
-            batch.add(new InsertOneModel(
+            batch.add(new ReplaceOneModel<Document>(eq("_id", key),
                     new Document("name", value.getName()).append("price", value.getPrice())
-                            .append("_id", key)));
+                            .append("_id", key),
+                    new ReplaceOptions().upsert(true)));
         }
         this.collection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
     }
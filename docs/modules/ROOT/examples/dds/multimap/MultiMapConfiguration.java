@@ -1,4 +1,10 @@
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MultiMapConfig;
+import com.hazelcast.config.NativeMemoryConfig;
+import com.hazelcast.memory.Capacity;
+import com.hazelcast.memory.MemoryUnit;
 
 public class MultiMapConfiguration {
     public static void main( String[] args ) throws Exception {
@@ -9,5 +15,14 @@ public class MultiMapConfiguration {
                 .setValueCollectionType( "SET" )
                 .setSplitBrainProtectionName( "splitbrainprotectionname" );
         //end::mmc[]
+
+        //tag::plmmc[]
+        Config config = new Config();
+        config.setNativeMemoryConfig( new NativeMemoryConfig()
+                .setEnabled( true )
+                .setCapacity( new Capacity( 8, MemoryUnit.GIGABYTES ) ) );
+        config.addMapConfig( new MapConfig( "followers" )
+                .setInMemoryFormat( InMemoryFormat.NATIVE ) );
+        //end::plmmc[]
     }
-}
\ No newline at end of file
+}
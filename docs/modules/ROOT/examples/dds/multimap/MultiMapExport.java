@@ -0,0 +1,76 @@
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.multimap.MultiMap;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+//tag::mmexport[]
+// Runs on every member and passes the entries that the member owns to the
+// writer, pageSize keys at a time. The values are read from the local
+// partitions, so no entry is sent over the network.
+public class MultiMapExport<K, V> implements Callable<Long>, Serializable, HazelcastInstanceAware {
+
+    public interface PageWriter<K, V> extends Serializable {
+        void write(Member member, Map<K, Collection<V>> page) throws Exception;
+    }
+
+    private final String multiMapName;
+    private final int pageSize;
+    private final PageWriter<K, V> writer;
+
+    private transient HazelcastInstance hazelcastInstance;
+
+    public MultiMapExport(String multiMapName, int pageSize, PageWriter<K, V> writer) {
+        this.multiMapName = multiMapName;
+        this.pageSize = pageSize;
+        this.writer = writer;
+    }
+
+    // Exports the MultiMap on all members in parallel and returns the number of exported keys
+    public static <K, V> long export(HazelcastInstance hz, String multiMapName, int pageSize,
+                                     PageWriter<K, V> writer) throws Exception {
+        Map<Member, Future<Long>> results = hz.getExecutorService("export")
+                .submitToAllMembers(new MultiMapExport<>(multiMapName, pageSize, writer));
+        long exported = 0;
+        for (Future<Long> result : results.values()) {
+            exported += result.get();
+        }
+        return exported;
+    }
+
+    @Override
+    public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
+        this.hazelcastInstance = hazelcastInstance;
+    }
+
+    @Override
+    public Long call() throws Exception {
+        Member member = hazelcastInstance.getCluster().getLocalMember();
+        MultiMap<K, V> multiMap = hazelcastInstance.getMultiMap(multiMapName);
+        Map<K, Collection<V>> page = new LinkedHashMap<>();
+        long exported = 0;
+        for (K key : multiMap.localKeySet()) {
+            Collection<V> values = multiMap.get(key);
+            if (!values.isEmpty()) {
+                page.put(key, values);
+            }
+            if (page.size() == pageSize) {
+                writer.write(member, page);
+                exported += page.size();
+                page = new LinkedHashMap<>();
+            }
+        }
+        if (!page.isEmpty()) {
+            writer.write(member, page);
+            exported += page.size();
+        }
+        return exported;
+    }
+}
+//end::mmexport[]
@@ -0,0 +1,144 @@
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ReadOnly;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.IMap;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+//tag::plmm[]
+// Stores the values of each key as one sorted array of distinct longs in an
+// IMap, which costs 8 bytes per value instead of a record per value. Behaves
+// like a MultiMap with the SET value collection type.
+public class PackedLongMultiMap<K> {
+
+    private final IMap<K, long[]> map;
+
+    public PackedLongMultiMap(HazelcastInstance hz, String name) {
+        this.map = hz.getMap(name);
+    }
+
+    // Returns the number of values that were not already stored for the key
+    public int putAll(K key, long... values) {
+        return map.executeOnKey(key, new AddValues<>(distinct(values)));
+    }
+
+    public boolean put(K key, long value) {
+        return putAll(key, value) == 1;
+    }
+
+    public boolean remove(K key, long value) {
+        return map.executeOnKey(key, new RemoveValue<>(value));
+    }
+
+    public boolean containsEntry(K key, long value) {
+        return map.executeOnKey(key, new ContainsValue<>(value));
+    }
+
+    public long[] get(K key) {
+        long[] values = map.get(key);
+        return values == null ? new long[0] : values;
+    }
+
+    // One operation for each partition that owns some of the keys
+    public Map<K, long[]> getAll(Set<K> keys) {
+        return map.getAll(keys);
+    }
+
+    // Fetches fetchSize keys with their values at a time
+    public Iterator<Map.Entry<K, long[]>> iterator(int fetchSize) {
+        return map.iterator(fetchSize);
+    }
+
+    private static long[] distinct(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+
+    // Merges two sorted arrays of distinct values
+    static class AddValues<K> implements EntryProcessor<K, long[], Integer> {
+        private final long[] values;
+
+        AddValues(long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Integer process(Map.Entry<K, long[]> entry) {
+            long[] current = entry.getValue() == null ? new long[0] : entry.getValue();
+            long[] merged = new long[current.length + values.length];
+            int i = 0;
+            int j = 0;
+            int count = 0;
+            while (i < current.length || j < values.length) {
+                if (j == values.length || (i < current.length && current[i] < values[j])) {
+                    merged[count++] = current[i++];
+                } else if (i == current.length || values[j] < current[i]) {
+                    merged[count++] = values[j++];
+                } else {
+                    merged[count++] = current[i++];
+                    j++;
+                }
+            }
+            if (count > current.length) {
+                entry.setValue(Arrays.copyOf(merged, count));
+            }
+            return count - current.length;
+        }
+    }
+
+    static class RemoveValue<K> implements EntryProcessor<K, long[], Boolean> {
+        private final long value;
+
+        RemoveValue(long value) {
+            this.value = value;
+        }
+
+        @Override
+        public Boolean process(Map.Entry<K, long[]> entry) {
+            long[] current = entry.getValue();
+            int index = current == null ? -1 : Arrays.binarySearch(current, value);
+            if (index < 0) {
+                return false;
+            }
+            if (current.length == 1) {
+                entry.setValue(null);
+            } else {
+                long[] remaining = new long[current.length - 1];
+                System.arraycopy(current, 0, remaining, 0, index);
+                System.arraycopy(current, index + 1, remaining, index, remaining.length - index);
+                entry.setValue(remaining);
+            }
+            return true;
+        }
+    }
+
+    // Read-only, so it does not create a backup operation
+    static class ContainsValue<K> implements EntryProcessor<K, long[], Boolean>, ReadOnly {
+        private final long value;
+
+        ContainsValue(long value) {
+            this.value = value;
+        }
+
+        @Override
+        public Boolean process(Map.Entry<K, long[]> entry) {
+            return entry.getValue() != null && Arrays.binarySearch(entry.getValue(), value) >= 0;
+        }
+
+        @Override
+        public EntryProcessor<K, long[], Boolean> getBackupProcessor() {
+            return null;
+        }
+    }
+}
+//end::plmm[]
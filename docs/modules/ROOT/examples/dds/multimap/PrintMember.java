@@ -2,7 +2,7 @@ import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.multimap.MultiMap;
 
-import java.util.Collection;
+import java.util.Map;
 
 public class PrintMember {
 
@@ -16,10 +16,18 @@ public class PrintMember {
         map.put("b", "3");
         System.out.printf("PutMember:Done");
 
-        for (String key: map.keySet()){
-            Collection<String> values = map.get(key);
-            System.out.printf("%s -> %s\n", key, values);
+        // One operation for each partition, instead of one get() for each key
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            System.out.printf("%s -> %s\n", entry.getKey(), entry.getValue());
         }
         //end::pm[]
     }
-}
\ No newline at end of file
+
+    static void export(HazelcastInstance hazelcastInstance) throws Exception {
+        //tag::pmexport[]
+        long exported = MultiMapExport.<String, String>export(hazelcastInstance, "map", 1000,
+                (member, page) -> System.out.println(member + ": " + page));
+        System.out.println("Exported " + exported + " keys");
+        //end::pmexport[]
+    }
+}
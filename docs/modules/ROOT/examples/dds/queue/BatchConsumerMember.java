@@ -0,0 +1,32 @@
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//tag::batchconsumer[]
+public class BatchConsumerMember {
+
+    public static void main( String[] args ) throws Exception {
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance();
+        IQueue<Integer> queue = hz.getQueue( "queue" );
+        List<Integer> batch = new ArrayList<>();
+        boolean finished = false;
+        while ( !finished ) {
+            batch.clear();
+            QueueBatches.drainTo( queue, batch, 100, 1, TimeUnit.SECONDS ); // <1>
+            for ( int item : batch ) {
+                if ( item == -1 ) {
+                    finished = true;
+                    continue;
+                }
+                System.out.println( "Consumed: " + item );
+            }
+        }
+        queue.put( -1 ); // <2>
+        System.out.println( "Consumer Finished!" );
+    }
+}
+//end::batchconsumer[]
@@ -0,0 +1,192 @@
+import com.hazelcast.collection.QueueStore;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+//tag::gcqs[]
+public class GroupCommitQueueStore<T> implements QueueStore<T> {
+
+    private final QueueStore<T> delegate;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "queue-store-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Items and deletes that are not yet written to the delegate
+    private Map<Long, T> pendingStores = new LinkedHashMap<>();
+    private Set<Long> pendingDeletes = new HashSet<>();
+    // Items that are being written by the current flush
+    private Map<Long, T> flushingStores = Collections.emptyMap();
+
+    public GroupCommitQueueStore(QueueStore<T> delegate, int maxBatchSize, long maxDelayMillis) {
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        flusher.scheduleWithFixedDelay(this::timedFlush, maxDelayMillis, maxDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Writes the buffered items and stops the timed flush
+    public void close() {
+        flusher.shutdown();
+        flush();
+    }
+
+    @Override
+    public void store(Long key, T value) {
+        storeAll(Collections.singletonMap(key, value));
+    }
+
+    @Override
+    public void storeAll(Map<Long, T> map) {
+        boolean full;
+        synchronized (this) {
+            pendingStores.putAll(map);
+            pendingDeletes.removeAll(map.keySet());
+            full = pendingStores.size() >= maxBatchSize;
+        }
+        // Writing a full batch on the caller's thread keeps the buffer bounded
+        if (full) {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                // The queue rejects these items, so they must not be written by a
+                // later flush. They may already be in the delegate if only the
+                // deletes failed, so delete them there as well.
+                synchronized (this) {
+                    pendingStores.keySet().removeAll(map.keySet());
+                    pendingDeletes.addAll(map.keySet());
+                }
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void delete(Long key) {
+        deleteAll(Collections.singleton(key));
+    }
+
+    @Override
+    public synchronized void deleteAll(Collection<Long> keys) {
+        for (Long key : keys) {
+            // Items taken before they were written never reach the delegate
+            if (pendingStores.remove(key) == null) {
+                pendingDeletes.add(key);
+            }
+        }
+    }
+
+    @Override
+    public T load(Long key) {
+        synchronized (this) {
+            if (pendingDeletes.contains(key)) {
+                return null;
+            }
+            T value = pendingStores.get(key);
+            if (value == null) {
+                value = flushingStores.get(key);
+            }
+            if (value != null) {
+                return value;
+            }
+        }
+        return delegate.load(key);
+    }
+
+    @Override
+    public Map<Long, T> loadAll(Collection<Long> keys) {
+        Map<Long, T> result = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        synchronized (this) {
+            for (Long key : keys) {
+                if (pendingDeletes.contains(key)) {
+                    continue;
+                }
+                T value = pendingStores.get(key);
+                if (value == null) {
+                    value = flushingStores.get(key);
+                }
+                if (value != null) {
+                    result.put(key, value);
+                } else {
+                    missing.add(key);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, T> loaded = delegate.loadAll(missing);
+            if (loaded != null) {
+                result.putAll(loaded);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Set<Long> loadAllKeys() {
+        flush();
+        return delegate.loadAllKeys();
+    }
+
+    // An exception thrown from a scheduled task cancels all later runs, so
+    // log it and leave the batch buffered for the next attempt
+    private void timedFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            System.err.println("Writing to the queue store failed, will retry: " + e);
+        }
+    }
+
+    // Writes all buffered items with one storeAll() call and all buffered
+    // deletes with one deleteAll() call
+    public void flush() {
+        synchronized (flusher) {
+            Map<Long, T> stores;
+            Set<Long> deletes;
+            synchronized (this) {
+                if (pendingStores.isEmpty() && pendingDeletes.isEmpty()) {
+                    return;
+                }
+                stores = pendingStores;
+                deletes = pendingDeletes;
+                flushingStores = stores;
+                pendingStores = new LinkedHashMap<>();
+                pendingDeletes = new HashSet<>();
+            }
+            try {
+                if (!stores.isEmpty()) {
+                    delegate.storeAll(stores);
+                }
+                if (!deletes.isEmpty()) {
+                    delegate.deleteAll(deletes);
+                }
+            } catch (RuntimeException e) {
+                // Keep the failed batch, so that the next flush retries it
+                synchronized (this) {
+                    for (Map.Entry<Long, T> entry : stores.entrySet()) {
+                        if (!pendingDeletes.contains(entry.getKey())) {
+                            pendingStores.putIfAbsent(entry.getKey(), entry.getValue());
+                        }
+                    }
+                    pendingDeletes.addAll(deletes);
+                }
+                throw e;
+            } finally {
+                synchronized (this) {
+                    flushingStores = Collections.emptyMap();
+                }
+            }
+        }
+    }
+}
+//end::gcqs[]
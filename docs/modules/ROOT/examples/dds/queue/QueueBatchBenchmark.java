@@ -0,0 +1,72 @@
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Compares the throughput of moving items through a queue one at a time,
+// with offer() and take(), and in batches, with QueueBatches. Pass the
+// item count and the batch size as arguments, for example "1000000 500".
+// Start a second member first to include the cost of backups.
+public class QueueBatchBenchmark {
+
+    public static void main( String[] args ) throws Exception {
+        int itemCount = args.length > 0 ? Integer.parseInt( args[0] ) : 1_000_000;
+        int batchSize = args.length > 1 ? Integer.parseInt( args[1] ) : 500;
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance();
+        try {
+            //tag::queuebatchbenchmark[]
+            IQueue<Integer> single = hz.getQueue( "single" );
+            long start = System.nanoTime();
+            Thread producer = new Thread( () -> {
+                for ( int i = 0; i < itemCount; i++ ) {
+                    single.offer( i );
+                }
+            } );
+            producer.start();
+            for ( int i = 0; i < itemCount; i++ ) {
+                single.take();
+            }
+            producer.join();
+            print( "offer()/take()", itemCount, start );
+
+            IQueue<Integer> batched = hz.getQueue( "batched" );
+            long batchStart = System.nanoTime();
+            Thread batchProducer = new Thread( () -> {
+                List<Integer> items = new ArrayList<>( batchSize );
+                for ( int i = 0; i < itemCount; i++ ) {
+                    items.add( i );
+                    if ( items.size() == batchSize || i == itemCount - 1 ) {
+                        try {
+                            QueueBatches.offerAll( batched, items, batchSize, 1, TimeUnit.SECONDS );
+                        } catch ( InterruptedException e ) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        items.clear();
+                    }
+                }
+            } );
+            batchProducer.start();
+            List<Integer> batch = new ArrayList<>( batchSize );
+            int consumed = 0;
+            while ( consumed < itemCount ) {
+                batch.clear();
+                consumed += QueueBatches.drainTo( batched, batch, batchSize, 1, TimeUnit.SECONDS );
+            }
+            batchProducer.join();
+            print( "QueueBatches", itemCount, batchStart );
+            //end::queuebatchbenchmark[]
+        } finally {
+            hz.shutdown();
+        }
+    }
+
+    private static void print( String name, int itemCount, long start ) {
+        long nanos = System.nanoTime() - start;
+        System.out.printf( "%s: %,d items in %,d ms (%,d items/s)%n", name, itemCount,
+                TimeUnit.NANOSECONDS.toMillis( nanos ), itemCount * TimeUnit.SECONDS.toNanos( 1 ) / nanos );
+    }
+}
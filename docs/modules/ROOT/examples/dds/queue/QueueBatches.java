@@ -0,0 +1,51 @@
+import com.hazelcast.collection.IQueue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//tag::qb[]
+public final class QueueBatches {
+
+    private QueueBatches() {
+    }
+
+    // Waits up to the timeout for the first item, then takes up to maxItems
+    // items in total. Each call costs at most three queue operations, a
+    // drainTo(), a poll() and another drainTo() if the queue was empty,
+    // whatever the number of items it returns. Returns the number of items taken.
+    public static <E> int drainTo( IQueue<E> queue, Collection<? super E> target,
+                                   int maxItems, long timeout, TimeUnit unit ) throws InterruptedException {
+        int drained = queue.drainTo( target, maxItems );
+        if ( drained > 0 ) {
+            return drained;
+        }
+        E first = queue.poll( timeout, unit );
+        if ( first == null ) {
+            return 0;
+        }
+        target.add( first );
+        return 1 + queue.drainTo( target, maxItems - 1 );
+    }
+
+    // Adds the items in chunks of up to batchSize items, one queue operation
+    // per chunk. If a bounded queue has no room for a whole chunk, adds items
+    // one at a time, waiting up to the timeout for each, until it has room
+    // again. Returns the number of items added.
+    public static <E> int offerAll( IQueue<E> queue, List<E> items, int batchSize,
+                                    long timeout, TimeUnit unit ) throws InterruptedException {
+        int added = 0;
+        while ( added < items.size() ) {
+            List<E> chunk = items.subList( added, Math.min( added + batchSize, items.size() ) );
+            if ( queue.addAll( chunk ) ) {
+                added += chunk.size();
+            } else if ( queue.offer( chunk.get( 0 ), timeout, unit ) ) {
+                added++;
+            } else {
+                break;
+            }
+        }
+        return added;
+    }
+}
+//end::qb[]
@@ -0,0 +1,122 @@
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.partition.Partition;
+import com.hazelcast.partition.PartitionService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.examples.helper.HazelcastUtils.keysOfDistinctPartitions;
+
+//tag::stripedqueue[]
+// Spreads one logical queue over several queues, called stripes, each in a
+// different partition. Items are FIFO within a stripe, but not across stripes.
+public class StripedQueue<E> {
+
+    private final PartitionService partitionService;
+    private final List<String> partitionKeys;
+    private final List<IQueue<E>> stripes = new ArrayList<>();
+    private final AtomicInteger nextStripe = new AtomicInteger();
+
+    public StripedQueue(HazelcastInstance hz, String name, int stripeCount) {
+        this.partitionService = hz.getPartitionService();
+        // A queue named "name@key" is stored in the partition of "key" and
+        // uses the configuration of "name"
+        this.partitionKeys = keysOfDistinctPartitions(hz, stripeCount);
+        for (String key : partitionKeys) {
+            stripes.add(hz.getQueue(name + "@" + key));
+        }
+    }
+
+    // Producers spread items over the stripes in turn
+    public boolean offer(E item) {
+        return stripes.get(Math.floorMod(nextStripe.getAndIncrement(), stripes.size())).offer(item);
+    }
+
+    public void put(E item) throws InterruptedException {
+        stripes.get(Math.floorMod(nextStripe.getAndIncrement(), stripes.size())).put(item);
+    }
+
+    // Returns an item of a stripe owned by this member if there is one,
+    // otherwise steals an item from another stripe
+    public E poll() {
+        int start = ThreadLocalRandom.current().nextInt(stripes.size());
+        for (int i = 0; i < stripes.size(); i++) {
+            int stripe = (start + i) % stripes.size();
+            if (isLocal(stripe)) {
+                E item = stripes.get(stripe).poll();
+                if (item != null) {
+                    return item;
+                }
+            }
+        }
+        for (int i = 0; i < stripes.size(); i++) {
+            int stripe = (start + i) % stripes.size();
+            if (!isLocal(stripe)) {
+                E item = stripes.get(stripe).poll();
+                if (item != null) {
+                    return item;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Takes up to maxItems items, from the local stripes first
+    public int drainTo(Collection<? super E> target, int maxItems) {
+        int drained = 0;
+        for (boolean local : new boolean[]{true, false}) {
+            for (int stripe = 0; stripe < stripes.size() && drained < maxItems; stripe++) {
+                if (isLocal(stripe) == local) {
+                    drained += stripes.get(stripe).drainTo(target, maxItems - drained);
+                }
+            }
+        }
+        return drained;
+    }
+
+    // Polls all stripes until an item arrives or the timeout expires. An empty
+    // striped queue is polled with a back-off, rather than blocking on one
+    // stripe while items arrive in another.
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        long backoffMillis = 1;
+        while (true) {
+            E item = poll();
+            if (item != null) {
+                return item;
+            }
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                return null;
+            }
+            Thread.sleep(Math.min(backoffMillis, remainingMillis));
+            backoffMillis = Math.min(backoffMillis * 2, 100);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (IQueue<E> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public void destroy() {
+        for (IQueue<E> stripe : stripes) {
+            stripe.destroy();
+        }
+    }
+
+    // Partitions migrate when members join or leave, so check the owner on each call
+    private boolean isLocal(int stripe) {
+        Partition partition = partitionService.getPartition(partitionKeys.get(stripe));
+        return partition.getOwner() != null && partition.getOwner().localMember();
+    }
+}
+//end::stripedqueue[]
@@ -0,0 +1,87 @@
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.QueueConfig;
+import com.hazelcast.core.HazelcastInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.hazelcast.examples.helper.ClusterBenchmark.forEachClusterSize;
+import static com.hazelcast.examples.helper.ClusterBenchmark.runOnEachMember;
+
+// Compares the throughput of one IQueue with a StripedQueue as the cluster
+// grows. Each member runs one producer and one consumer thread for the given
+// number of seconds. Pass the member counts to test as arguments, for example
+// "1 2 4 8".
+public class StripedQueueBenchmark {
+
+    private static final int STRIPE_COUNT = 32;
+    private static final int CAPACITY = 100_000;
+    private static final int SECONDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        // Both queues hold at most CAPACITY items, so that producers that are
+        // faster than the consumers cannot fill the heap. offer() returns
+        // false while a queue or stripe is full.
+        Config config = new Config();
+        config.addQueueConfig(new QueueConfig("single").setMaxSize(CAPACITY));
+        config.addQueueConfig(new QueueConfig("striped").setMaxSize(CAPACITY / STRIPE_COUNT));
+
+        forEachClusterSize(args, config, members -> {
+            //tag::stripedqueuebenchmark[]
+            long single = run(members, hz -> {
+                IQueue<Integer> queue = hz.getQueue("single");
+                return new QueueOperations(queue::offer, queue::poll);
+            });
+            members.get(0).getQueue("single").destroy();
+            long striped = run(members, hz -> {
+                StripedQueue<Integer> queue = new StripedQueue<>(hz, "striped", STRIPE_COUNT);
+                return new QueueOperations(queue::offer, queue::poll);
+            });
+            new StripedQueue<Integer>(members.get(0), "striped", STRIPE_COUNT).destroy();
+            System.out.printf("%d members: IQueue %,d items/s, StripedQueue %,d items/s%n",
+                    members.size(), single / SECONDS, striped / SECONDS);
+            //end::stripedqueuebenchmark[]
+        });
+    }
+
+    // Runs a producer and a consumer on each member and returns the number of items consumed
+    private static long run(List<HazelcastInstance> members,
+                            Function<HazelcastInstance, QueueOperations> queues) throws Exception {
+        List<QueueOperations> queuePerMember = new ArrayList<>();
+        for (HazelcastInstance hz : members) {
+            queuePerMember.add(queues.apply(hz));
+        }
+        AtomicLong consumed = new AtomicLong();
+        runOnEachMember(members.size(), SECONDS,
+                (member, deadline) -> {
+                    QueueOperations queue = queuePerMember.get(member);
+                    for (int i = 0; System.nanoTime() < deadline; i++) {
+                        queue.offer.accept(i);
+                    }
+                },
+                (member, deadline) -> {
+                    QueueOperations queue = queuePerMember.get(member);
+                    while (System.nanoTime() < deadline) {
+                        if (queue.poll.get() != null) {
+                            consumed.incrementAndGet();
+                        }
+                    }
+                });
+        return consumed.get();
+    }
+
+    private static class QueueOperations {
+        final Consumer<Integer> offer;
+        final Supplier<Integer> poll;
+
+        QueueOperations(Consumer<Integer> offer, Supplier<Integer> poll) {
+            this.offer = offer;
+            this.poll = poll;
+        }
+    }
+}
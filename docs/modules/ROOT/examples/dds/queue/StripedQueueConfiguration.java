@@ -0,0 +1,23 @@
+import com.hazelcast.config.Config;
+import com.hazelcast.config.QueueConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+
+public class StripedQueueConfiguration {
+    public static void main( String[] args ) throws Exception {
+        //tag::stripedqueueconf[]
+        Config config = new Config();
+        // Applies to every `orders@<key>` stripe
+        QueueConfig queueConfig = new QueueConfig("orders")
+                .setBackupCount(1)
+                .setMaxSize(100_000)
+                .setStatisticsEnabled(true);
+        config.addQueueConfig(queueConfig);
+
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance(config);
+        StripedQueue<String> orders = new StripedQueue<>(hz, "orders", 16);
+        orders.offer("order-1");
+        String order = orders.poll();
+        //end::stripedqueueconf[]
+    }
+}
@@ -0,0 +1,132 @@
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import com.hazelcast.topic.ReliableMessageListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+//tag::pml[]
+// Hands the messages of a reliable topic to a pool of threads, so that the
+// topic reads the next batch while the previous messages are processed.
+// Messages with the same key are processed by the same thread, in order.
+public class ParallelMessageListener<K, E> implements ReliableMessageListener<E> {
+
+    // Prefix of the ringbuffer that backs a reliable topic
+    private static final String RINGBUFFER_PREFIX = "_hz_rb_";
+
+    private final Function<E, K> keyExtractor;
+    private final MessageListener<E> delegate;
+    private final Ringbuffer<?> ringbuffer;
+    private final List<BlockingQueue<Message<E>>> lanes = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+
+    private final AtomicLong pending = new AtomicLong();
+    private volatile long lastReadSequence = -1;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long lastLagMillis;
+
+    public ParallelMessageListener(HazelcastInstance hz, String topicName, int threadCount, int queueCapacity,
+                                   Function<E, K> keyExtractor, MessageListener<E> delegate) {
+        this.keyExtractor = keyExtractor;
+        this.delegate = delegate;
+        this.ringbuffer = hz.getRingbuffer(RINGBUFFER_PREFIX + topicName);
+        for (int i = 0; i < threadCount; i++) {
+            BlockingQueue<Message<E>> lane = new ArrayBlockingQueue<>(queueCapacity);
+            Thread thread = new Thread(() -> process(lane), topicName + "-listener-" + lanes.size());
+            thread.setDaemon(true);
+            thread.start();
+            lanes.add(lane);
+            threads.add(thread);
+        }
+    }
+
+    // Called on the topic's thread. Blocks only when the lane of the key is
+    // full, which stops the topic from reading further ahead. Messages
+    // without a key all go to the first lane.
+    @Override
+    public void onMessage(Message<E> message) {
+        K key = keyExtractor.apply(message.getMessageObject());
+        int laneIndex = key == null ? 0 : Math.floorMod(key.hashCode(), lanes.size());
+        pending.incrementAndGet();
+        try {
+            lanes.get(laneIndex).put(message);
+        } catch (InterruptedException e) {
+            pending.decrementAndGet();
+            dropped.incrementAndGet();
+            System.err.println("Interrupted, dropped a message published at " + message.getPublishTime());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void process(BlockingQueue<Message<E>> lane) {
+        try {
+            while (true) {
+                Message<E> message = lane.take();
+                try {
+                    delegate.onMessage(message);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+                lastLagMillis = System.currentTimeMillis() - message.getPublishTime();
+                pending.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            // Shut down: the messages still in the lane are not processed
+            int remaining = lane.size();
+            lane.clear();
+            pending.addAndGet(-remaining);
+            dropped.addAndGet(remaining);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Number of published messages that are not processed yet
+    public long getLagSequences() {
+        if (lastReadSequence < 0) {
+            return 0;
+        }
+        return ringbuffer.tailSequence() - lastReadSequence + pending.get();
+    }
+
+    // Time between publishing and processing of the last processed message,
+    // measured when it was processed, so it does not grow while the topic is idle
+    public long getLagMillis() {
+        return lastLagMillis;
+    }
+
+    // Number of messages that were not processed because a thread was interrupted
+    public long getDroppedMessages() {
+        return dropped.get();
+    }
+
+    public void shutdown() {
+        threads.forEach(Thread::interrupt);
+    }
+
+    @Override
+    public long retrieveInitialSequence() {
+        return -1;
+    }
+
+    @Override
+    public void storeSequence(long sequence) {
+        lastReadSequence = sequence;
+    }
+
+    @Override
+    public boolean isLossTolerant() {
+        return false;
+    }
+
+    @Override
+    public boolean isTerminal(Throwable failure) {
+        return false;
+    }
+}
+//end::pml[]
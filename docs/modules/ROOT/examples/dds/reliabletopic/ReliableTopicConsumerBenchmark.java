@@ -0,0 +1,80 @@
+import com.hazelcast.config.Config;
+import com.hazelcast.config.ReliableTopicConfig;
+import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.MessageListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Compares the throughput of a plain message listener that reads 10 messages
+// at a time with a ParallelMessageListener that reads 100 messages at a time
+// and processes them on 8 threads. Each message takes about 50 microseconds
+// to process. Pass the message count as an argument, for example "200000".
+public class ReliableTopicConsumerBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int messageCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        Config config = new Config();
+        config.addRingBufferConfig(new RingbufferConfig("default").setCapacity(messageCount));
+        config.addReliableTopicConfig(new ReliableTopicConfig("single").setReadBatchSize(10));
+        config.addReliableTopicConfig(new ReliableTopicConfig("parallel").setReadBatchSize(100));
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance(config);
+        try {
+            //tag::rtbenchmark[]
+            CountDownLatch singleDone = new CountDownLatch(messageCount);
+            ITopic<Long> single = hz.getReliableTopic("single");
+            single.addMessageListener(message -> {
+                work();
+                singleDone.countDown();
+            });
+            long start = System.nanoTime();
+            publish(single, messageCount);
+            singleDone.await();
+            print("MessageListener", messageCount, start);
+
+            CountDownLatch parallelDone = new CountDownLatch(messageCount);
+            ITopic<Long> parallel = hz.getReliableTopic("parallel");
+            ParallelMessageListener<Long, Long> listener = new ParallelMessageListener<>(hz, "parallel", 8, 1000,
+                    id -> id % 1000, message -> {
+                        work();
+                        parallelDone.countDown();
+                    });
+            parallel.addMessageListener(listener);
+            long parallelStart = System.nanoTime();
+            publish(parallel, messageCount);
+            parallelDone.await();
+            print("ParallelMessageListener", messageCount, parallelStart);
+            listener.shutdown();
+            //end::rtbenchmark[]
+        } finally {
+            hz.shutdown();
+        }
+    }
+
+    private static void publish(ITopic<Long> topic, int messageCount) {
+        List<Long> batch = new ArrayList<>();
+        for (long i = 0; i < messageCount; i++) {
+            batch.add(i);
+            if (batch.size() == 1000 || i == messageCount - 1) {
+                topic.publishAll(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static void work() {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+    }
+
+    private static void print(String name, int messageCount, long start) {
+        long nanos = System.nanoTime() - start;
+        System.out.printf("%s: %,d messages in %,d ms (%,d messages/s)%n", name, messageCount,
+                TimeUnit.NANOSECONDS.toMillis(nanos), messageCount * TimeUnit.SECONDS.toNanos(1) / nanos);
+    }
+}
@@ -1,6 +1,7 @@
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 
+import java.util.HashMap;
 import java.util.Map;
 
 public class FillMapMember {
@@ -18,4 +19,16 @@ public class FillMapMember {
         hz.shutdown();
         //end::fmm[]
     }
-}
\ No newline at end of file
+
+    static void putAll(HazelcastInstance hz) {
+        //tag::fmmputall[]
+        Map<String, String> map = hz.getReplicatedMap("map");
+
+        Map<String, String> cities = new HashMap<>();
+        cities.put("1", "Tokyo");
+        cities.put("2", "Paris");
+        cities.put("3", "New York");
+        map.putAll(cities);
+        //end::fmmputall[]
+    }
+}
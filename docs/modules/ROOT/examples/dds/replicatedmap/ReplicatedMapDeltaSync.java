@@ -0,0 +1,82 @@
+import com.hazelcast.replicatedmap.ReplicatedMap;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+//tag::rmds[]
+// Brings a replicated map in line with a source of truth, such as a
+// reference data file, by writing only the key ranges that differ. Keys are
+// spread over buckets by their hash, and each bucket has a digest of its
+// entries. Only the entries of buckets whose digests differ are written.
+public final class ReplicatedMapDeltaSync {
+
+    private ReplicatedMapDeltaSync() {
+    }
+
+    // Returns the number of buckets that were written
+    public static <K, V> int sync(ReplicatedMap<K, V> map, Map<K, V> source, int bucketCount, int batchSize) {
+        long[] mapDigests = digests(map, bucketCount);
+        long[] sourceDigests = digests(source, bucketCount);
+        Set<Integer> changedBuckets = new HashSet<>();
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            if (mapDigests[bucket] != sourceDigests[bucket]) {
+                changedBuckets.add(bucket);
+            }
+        }
+        if (changedBuckets.isEmpty()) {
+            return 0;
+        }
+
+        // putAll() sends one operation per partition instead of one per entry
+        Map<K, V> batch = new HashMap<>();
+        for (Map.Entry<K, V> entry : source.entrySet()) {
+            if (changedBuckets.contains(bucket(entry.getKey(), bucketCount))
+                    && !Objects.equals(map.get(entry.getKey()), entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+                if (batch.size() == batchSize) {
+                    map.putAll(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            map.putAll(batch);
+        }
+        for (K key : map.keySet()) {
+            if (changedBuckets.contains(bucket(key, bucketCount)) && !source.containsKey(key)) {
+                map.remove(key);
+            }
+        }
+        return changedBuckets.size();
+    }
+
+    // The digest of a bucket does not depend on the order of its entries,
+    // so the replica and the source can be read in any order. Keys and
+    // values must implement hashCode() based on their content.
+    private static <K, V> long[] digests(Map<K, V> entries, int bucketCount) {
+        long[] digests = new long[bucketCount];
+        for (Map.Entry<K, V> entry : entries.entrySet()) {
+            long hash = 31L * entry.getKey().hashCode() + Objects.hashCode(entry.getValue());
+            digests[bucket(entry.getKey(), bucketCount)] += mix(hash);
+        }
+        return digests;
+    }
+
+    private static int bucket(Object key, int bucketCount) {
+        return Math.floorMod(key.hashCode(), bucketCount);
+    }
+
+    // Spreads the bits of the hash, so that different entries rarely cancel out in the sum
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
+//end::rmds[]
@@ -0,0 +1,81 @@
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.replicatedmap.ReplicatedMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Compares the read throughput of ReplicatedMap.get() and
+// ReplicatedMapSnapshot.get() with 1 to 16 reader threads. Pass the
+// number of entries as an argument, for example "100000".
+public class ReplicatedMapReadBenchmark {
+
+    private static final int SECONDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int entryCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance();
+        try {
+            //tag::rmsbenchmark[]
+            ReplicatedMap<Integer, String> map = hz.getReplicatedMap("reference");
+            Map<Integer, String> entries = new HashMap<>();
+            for (int i = 0; i < entryCount; i++) {
+                entries.put(i, "value-" + i);
+            }
+            map.putAll(entries);
+            ReplicatedMapSnapshot<Integer, String> snapshot = new ReplicatedMapSnapshot<>(map, 100);
+
+            for (int threads = 1; threads <= 16; threads *= 2) {
+                long mapReads = run(threads, entryCount, map::get);
+                long snapshotReads = run(threads, entryCount, snapshot::get);
+                System.out.printf("%d threads: ReplicatedMap %,d reads/s, ReplicatedMapSnapshot %,d reads/s%n",
+                        threads, mapReads / SECONDS, snapshotReads / SECONDS);
+            }
+            snapshot.destroy();
+            //end::rmsbenchmark[]
+        } finally {
+            hz.shutdown();
+        }
+    }
+
+    // Returns the total number of reads of all threads
+    private static long run(int threadCount, int entryCount, Function<Integer, String> reader)
+            throws InterruptedException {
+        LongAdder reads = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+        CountDownLatch done = new CountDownLatch(threadCount);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        for (int t = 0; t < threadCount; t++) {
+            new Thread(() -> {
+                try {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long count = 0;
+                    while (System.nanoTime() < deadline) {
+                        for (int i = 0; i < 1000; i++) {
+                            if (reader.apply(random.nextInt(entryCount)) == null) {
+                                throw new IllegalStateException("Missing entry");
+                            }
+                        }
+                        count += 1000;
+                    }
+                    reads.add(count);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        done.await();
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return reads.sum();
+    }
+}
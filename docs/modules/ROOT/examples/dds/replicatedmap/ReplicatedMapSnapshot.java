@@ -0,0 +1,130 @@
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.EntryListener;
+import com.hazelcast.map.MapEvent;
+import com.hazelcast.replicatedmap.ReplicatedMap;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+//tag::rms[]
+// Keeps an immutable copy of the local replica of a replicated map. Readers
+// use the current copy without locks, and a background thread publishes a
+// new copy with the latest changes every refreshMillis milliseconds.
+public class ReplicatedMapSnapshot<K, V> implements EntryListener<K, V> {
+
+    private final ReplicatedMap<K, V> map;
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor();
+    private final UUID registrationId;
+    private volatile Map<K, V> snapshot;
+    // Changes since the last copy, with null values for removed keys
+    private Map<K, V> changes = new HashMap<>();
+    private boolean reload;
+
+    public ReplicatedMapSnapshot(ReplicatedMap<K, V> map, long refreshMillis) {
+        this.map = map;
+        // Register the listener first, so that no change made during the copy is lost
+        this.registrationId = map.addEntryListener(this);
+        this.snapshot = Collections.unmodifiableMap(new HashMap<>(map));
+        refresher.scheduleWithFixedDelay(this::timedRefresh, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public V get(K key) {
+        return snapshot.get(key);
+    }
+
+    // The returned map does not change, so it can be iterated while the replicated map changes
+    public Map<K, V> getSnapshot() {
+        return snapshot;
+    }
+
+    public void destroy() {
+        map.removeEntryListener(registrationId);
+        refresher.shutdown();
+    }
+
+    private void refresh() {
+        Map<K, V> pending;
+        boolean fullReload;
+        synchronized (this) {
+            if (changes.isEmpty() && !reload) {
+                return;
+            }
+            pending = changes;
+            fullReload = reload;
+            changes = new HashMap<>();
+            reload = false;
+        }
+        Map<K, V> next = new HashMap<>(fullReload ? map : snapshot);
+        if (!fullReload) {
+            for (Map.Entry<K, V> change : pending.entrySet()) {
+                if (change.getValue() == null) {
+                    next.remove(change.getKey());
+                } else {
+                    next.put(change.getKey(), change.getValue());
+                }
+            }
+        }
+        snapshot = Collections.unmodifiableMap(next);
+    }
+
+    // An exception would cancel the refresh task. The changes taken by the
+    // failed refresh are lost, so the next refresh copies the whole map.
+    private void timedRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            reloadAll();
+            System.err.println("Refreshing the snapshot of " + map.getName() + " failed, will reload: " + e);
+        }
+    }
+
+    private synchronized void changed(K key, V value) {
+        changes.put(key, value);
+    }
+
+    private synchronized void reloadAll() {
+        changes.clear();
+        reload = true;
+    }
+
+    @Override
+    public void entryAdded(EntryEvent<K, V> event) {
+        changed(event.getKey(), event.getValue());
+    }
+
+    @Override
+    public void entryUpdated(EntryEvent<K, V> event) {
+        changed(event.getKey(), event.getValue());
+    }
+
+    @Override
+    public void entryRemoved(EntryEvent<K, V> event) {
+        changed(event.getKey(), null);
+    }
+
+    @Override
+    public void entryEvicted(EntryEvent<K, V> event) {
+        changed(event.getKey(), null);
+    }
+
+    @Override
+    public void entryExpired(EntryEvent<K, V> event) {
+        changed(event.getKey(), null);
+    }
+
+    @Override
+    public void mapCleared(MapEvent event) {
+        reloadAll();
+    }
+
+    @Override
+    public void mapEvicted(MapEvent event) {
+        reloadAll();
+    }
+}
+//end::rms[]
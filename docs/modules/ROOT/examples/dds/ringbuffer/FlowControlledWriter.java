@@ -0,0 +1,126 @@
+import com.hazelcast.ringbuffer.OverflowPolicy;
+import com.hazelcast.ringbuffer.Ringbuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+//tag::fcwriter[]
+// Adds items to a ringbuffer in batches, keeping up to maxInFlight batches
+// in flight. Before sending a batch, the writer waits until the ringbuffer
+// has room for it, so that no item is overwritten before it expires.
+// Not thread-safe: use one writer per producer thread.
+public class FlowControlledWriter<E> implements AutoCloseable {
+
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final Ringbuffer<E> ringbuffer;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private List<E> batch;
+    // Number of items the writer can send before it asks the ringbuffer again
+    private long credits;
+    private volatile Throwable failure;
+
+    private final LongAdder blockedNanos = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder itemCount = new LongAdder();
+    private final LongAdder rejectedBatchCount = new LongAdder();
+
+    public FlowControlledWriter(Ringbuffer<E> ringbuffer, int batchSize, int maxInFlight) {
+        if (batchSize > ringbuffer.capacity()) {
+            throw new IllegalArgumentException("batchSize must not exceed the ringbuffer capacity");
+        }
+        this.ringbuffer = ringbuffer;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    public void add(E item) throws InterruptedException {
+        batch.add(item);
+        if (batch.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    // Sends the buffered items without waiting for the result
+    public void flush() throws InterruptedException {
+        if (failure != null) {
+            throw new IllegalStateException("A previous batch failed", failure);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<E> items = batch;
+        batch = new ArrayList<>(batchSize);
+        long start = System.nanoTime();
+        awaitCredits(items.size());
+        inFlight.acquire();
+        blockedNanos.add(System.nanoTime() - start);
+        send(items);
+    }
+
+    // Sends the buffered items and waits until all batches are added
+    @Override
+    public void close() throws InterruptedException {
+        flush();
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+        if (failure != null) {
+            throw new IllegalStateException("A batch failed", failure);
+        }
+    }
+
+    public long getBlockedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(blockedNanos.sum());
+    }
+
+    public double getAverageBatchSize() {
+        long batches = batchCount.sum();
+        return batches == 0 ? 0 : (double) itemCount.sum() / batches;
+    }
+
+    public long getRejectedBatchCount() {
+        return rejectedBatchCount.sum();
+    }
+
+    // Items are removed from a ringbuffer only when they expire, so wait with
+    // a short, growing park until enough items expire
+    private void awaitCredits(int needed) {
+        long parkNanos = TimeUnit.MICROSECONDS.toNanos(100);
+        while (credits < needed) {
+            credits = ringbuffer.remainingCapacity();
+            if (credits < needed) {
+                LockSupport.parkNanos(parkNanos);
+                parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+            }
+        }
+        credits -= needed;
+    }
+
+    private void send(List<E> items) {
+        ringbuffer.addAllAsync(items, OverflowPolicy.FAIL).whenComplete((sequence, t) -> {
+            if (t != null) {
+                failure = t;
+                inFlight.release();
+            } else if (sequence == -1) {
+                // Another writer used the room first: retry shortly. A retried
+                // batch can be added after batches that were sent later.
+                rejectedBatchCount.increment();
+                CompletableFuture.delayedExecutor(1, TimeUnit.MILLISECONDS).execute(() -> send(items));
+            } else {
+                batchCount.increment();
+                itemCount.add(items.size());
+                inFlight.release();
+            }
+        });
+    }
+}
+//end::fcwriter[]
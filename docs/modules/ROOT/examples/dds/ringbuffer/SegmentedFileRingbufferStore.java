@@ -0,0 +1,280 @@
+import com.hazelcast.ringbuffer.RingbufferStore;
+import com.hazelcast.ringbuffer.RingbufferStoreFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Properties;
+import java.util.TreeMap;
+
+//tag::segmentstore[]
+// Appends the items of a ringbuffer to memory-mapped segment files on the
+// local disk. Requires the BINARY in-memory format.
+public class SegmentedFileRingbufferStore implements RingbufferStore<byte[]> {
+
+    private final Path directory;
+    private final int segmentItems;
+    private final int segmentBytes;
+    private final long retainedItems;
+    private final boolean sync;
+    // Segments by the sequence of their first item
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+
+    public SegmentedFileRingbufferStore(Path directory, int segmentItems, int segmentBytes,
+                                        long retainedItems, boolean sync) {
+        this.directory = directory;
+        this.segmentItems = segmentItems;
+        this.segmentBytes = segmentBytes;
+        this.retainedItems = retainedItems;
+        this.sync = sync;
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.seg")) {
+                for (Path file : files) {
+                    Segment segment = Segment.open(file);
+                    if (segment == null) {
+                        // Left incomplete by a crash while the segment was created
+                        Files.delete(file);
+                    } else {
+                        segments.put(segment.firstSequence, segment);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void store(long sequence, byte[] data) {
+        append(sequence, data);
+        if (sync) {
+            forceFrom(sequence);
+        }
+        reclaim();
+    }
+
+    @Override
+    public synchronized void storeAll(long firstItemSequence, byte[][] items) {
+        for (int i = 0; i < items.length; i++) {
+            append(firstItemSequence + i, items[i]);
+        }
+        if (sync) {
+            forceFrom(firstItemSequence);
+        }
+        reclaim();
+    }
+
+    // Copies the item directly from the mapped file, without a read system call
+    @Override
+    public synchronized byte[] load(long sequence) {
+        Map.Entry<Long, Segment> entry = segments.floorEntry(sequence);
+        return entry == null ? null : entry.getValue().read(sequence);
+    }
+
+    @Override
+    public synchronized long getLargestSequence() {
+        return segments.isEmpty() ? -1 : segments.lastEntry().getValue().nextSequence() - 1;
+    }
+
+    private void append(long sequence, byte[] item) {
+        if (sequence <= getLargestSequence()) {
+            // The sequence was stored before, for example by a batch that
+            // failed part way and was retried: drop it and everything after it
+            truncateFrom(sequence);
+        }
+        Segment last = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        if (last == null || last.nextSequence() != sequence || !last.append(item)) {
+            // A segment that starts at this sequence can only be empty here
+            Segment empty = segments.remove(sequence);
+            if (empty != null) {
+                empty.delete();
+            }
+            // Items larger than a segment get a segment of their own
+            Segment segment = Segment.create(directory.resolve(sequence + ".seg"), sequence,
+                    segmentItems, Math.max(segmentBytes, item.length));
+            segment.append(item);
+            segments.put(sequence, segment);
+        }
+    }
+
+    private void truncateFrom(long sequence) {
+        Iterator<Segment> later = segments.tailMap(sequence, true).values().iterator();
+        while (later.hasNext()) {
+            later.next().delete();
+            later.remove();
+        }
+        Map.Entry<Long, Segment> floor = segments.floorEntry(sequence);
+        if (floor != null) {
+            floor.getValue().truncate(sequence);
+        }
+    }
+
+    // Forces every segment that holds items from the given sequence on, which
+    // are all the segments written by the last store() or storeAll() call
+    private void forceFrom(long sequence) {
+        Long first = segments.floorKey(sequence);
+        for (Segment segment : segments.tailMap(first == null ? sequence : first, true).values()) {
+            segment.force();
+        }
+    }
+
+    // Deletes the segments whose items are all older than the retained items
+    private void reclaim() {
+        if (retainedItems <= 0) {
+            return;
+        }
+        long oldestRetained = getLargestSequence() - retainedItems + 1;
+        Iterator<Segment> iterator = segments.values().iterator();
+        while (iterator.hasNext()) {
+            Segment segment = iterator.next();
+            if (segment.nextSequence() > oldestRetained) {
+                break;
+            }
+            segment.delete();
+            iterator.remove();
+        }
+    }
+
+    // A segment file starts with the number of items and the size of the
+    // index, followed by the index, which holds the end offset of each item,
+    // and the item data
+    private static final class Segment {
+
+        private static final int HEADER_BYTES = 8;
+
+        final long firstSequence;
+        private final Path file;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final int indexSize;
+        private final int dataStart;
+        private int count;
+        private int dataEnd;
+
+        private Segment(Path file, long firstSequence, FileChannel channel, MappedByteBuffer buffer) {
+            this.file = file;
+            this.firstSequence = firstSequence;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.count = buffer.getInt(0);
+            this.indexSize = buffer.getInt(4);
+            this.dataStart = HEADER_BYTES + 4 * indexSize;
+            this.dataEnd = count == 0 ? 0 : buffer.getInt(HEADER_BYTES + 4 * (count - 1));
+        }
+
+        static Segment create(Path file, long firstSequence, int indexSize, int dataBytes) {
+            try {
+                // A file that is not a known segment is left over from a crash
+                FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        HEADER_BYTES + 4L * indexSize + dataBytes);
+                buffer.putInt(4, indexSize);
+                return new Segment(file, firstSequence, channel, buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // Returns null if the file is too short for its header, index and data
+        static Segment open(Path file) throws IOException {
+            String name = file.getFileName().toString();
+            long firstSequence = Long.parseLong(name.substring(0, name.length() - ".seg".length()));
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size();
+            if (size >= HEADER_BYTES && size <= Integer.MAX_VALUE) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                int count = buffer.getInt(0);
+                int indexSize = buffer.getInt(4);
+                if (indexSize >= 0 && count >= 0 && count <= indexSize
+                        && HEADER_BYTES + 4L * indexSize <= size) {
+                    long dataEnd = count == 0 ? 0 : buffer.getInt(HEADER_BYTES + 4 * (count - 1));
+                    if (HEADER_BYTES + 4L * indexSize + dataEnd <= size) {
+                        return new Segment(file, firstSequence, channel, buffer);
+                    }
+                }
+            }
+            channel.close();
+            return null;
+        }
+
+        long nextSequence() {
+            return firstSequence + count;
+        }
+
+        // Writes the data before the index entry and the count, so that a
+        // partly written item is ignored after a crash
+        boolean append(byte[] item) {
+            if (count == indexSize || dataStart + dataEnd + item.length > buffer.capacity()) {
+                return false;
+            }
+            buffer.put(dataStart + dataEnd, item);
+            dataEnd += item.length;
+            buffer.putInt(HEADER_BYTES + 4 * count, dataEnd);
+            count++;
+            buffer.putInt(0, count);
+            return true;
+        }
+
+        // Drops the items from the given sequence on. The count is written
+        // last, as in append()
+        void truncate(long sequence) {
+            if (sequence < firstSequence || sequence >= nextSequence()) {
+                return;
+            }
+            count = (int) (sequence - firstSequence);
+            dataEnd = count == 0 ? 0 : buffer.getInt(HEADER_BYTES + 4 * (count - 1));
+            buffer.putInt(0, count);
+        }
+
+        byte[] read(long sequence) {
+            if (sequence < firstSequence || sequence >= nextSequence()) {
+                return null;
+            }
+            int index = (int) (sequence - firstSequence);
+            int start = index == 0 ? 0 : buffer.getInt(HEADER_BYTES + 4 * (index - 1));
+            int end = buffer.getInt(HEADER_BYTES + 4 * index);
+            byte[] item = new byte[end - start];
+            buffer.get(dataStart + start, item);
+            return item;
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void delete() {
+            try {
+                channel.close();
+                Files.delete(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Creates a store in its own directory for each ringbuffer
+    public static class Factory implements RingbufferStoreFactory<byte[]> {
+
+        @Override
+        public RingbufferStore<byte[]> newRingbufferStore(String name, Properties properties) {
+            return new SegmentedFileRingbufferStore(
+                    Paths.get(properties.getProperty("directory", "ringbuffer-store"), name),
+                    Integer.parseInt(properties.getProperty("segment-items", "65536")),
+                    Integer.parseInt(properties.getProperty("segment-bytes", "67108864")),
+                    Long.parseLong(properties.getProperty("retained-items", "0")),
+                    Boolean.parseBoolean(properties.getProperty("sync", "false")));
+        }
+    }
+}
+//end::segmentstore[]
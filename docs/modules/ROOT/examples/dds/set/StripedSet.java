@@ -0,0 +1,107 @@
+import com.hazelcast.collection.ISet;
+import com.hazelcast.core.HazelcastInstance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import static com.hazelcast.examples.helper.HazelcastUtils.keysOfDistinctPartitions;
+
+//tag::stripedset[]
+// Spreads the elements of one logical set over several sets, called stripes,
+// each in a different partition. The stripe of an element depends on its
+// hashCode(), which must be the same in all JVMs, as it is for String and Long.
+public class StripedSet<E> {
+
+    private final List<ISet<E>> stripes = new ArrayList<>();
+    private final Executor executor;
+
+    // The methods that call all stripes in parallel block one thread of the
+    // executor per stripe. Use an executor with enough threads for the
+    // stripes, not the common ForkJoinPool, which is shared by the whole JVM.
+    public StripedSet(HazelcastInstance hz, String name, int stripeCount, Executor executor) {
+        this.executor = executor;
+        // A set named "name@key" is stored in the partition of "key" and
+        // uses the configuration of "name"
+        for (String key : keysOfDistinctPartitions(hz, stripeCount)) {
+            stripes.add(hz.getSet(name + "@" + key));
+        }
+    }
+
+    public boolean add(E element) {
+        return stripeOf(element).add(element);
+    }
+
+    public boolean remove(E element) {
+        return stripeOf(element).remove(element);
+    }
+
+    public boolean contains(E element) {
+        return stripeOf(element).contains(element);
+    }
+
+    // Sends one operation to each stripe, all stripes in parallel
+    public boolean addAll(Collection<? extends E> elements) {
+        List<List<E>> byStripe = groupByStripe(elements);
+        return onEachStripe(stripe -> !byStripe.get(stripe).isEmpty()
+                && stripes.get(stripe).addAll(byStripe.get(stripe))).contains(true);
+    }
+
+    public boolean containsAll(Collection<? extends E> elements) {
+        List<List<E>> byStripe = groupByStripe(elements);
+        return !onEachStripe(stripe -> byStripe.get(stripe).isEmpty()
+                || stripes.get(stripe).containsAll(byStripe.get(stripe))).contains(false);
+    }
+
+    public int size() {
+        return onEachStripe(stripe -> stripes.get(stripe).size()).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    // Copies the stripes to the caller in parallel and passes each element to
+    // the action, which must be thread-safe. Each stripe is copied as a whole,
+    // so use enough stripes to keep each copy small.
+    public void forEachParallel(Consumer<? super E> action) {
+        onEachStripe(stripe -> {
+            stripes.get(stripe).forEach(action);
+            return null;
+        });
+    }
+
+    public void destroy() {
+        stripes.forEach(ISet::destroy);
+    }
+
+    private ISet<E> stripeOf(E element) {
+        return stripes.get(Math.floorMod(element.hashCode(), stripes.size()));
+    }
+
+    // Runs the call for each stripe on the executor and waits for all results
+    private <T> List<T> onEachStripe(IntFunction<T> call) {
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (int i = 0; i < stripes.size(); i++) {
+            int stripe = i;
+            futures.add(CompletableFuture.supplyAsync(() -> call.apply(stripe), executor));
+        }
+        List<T> results = new ArrayList<>();
+        for (CompletableFuture<T> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    private List<List<E>> groupByStripe(Collection<? extends E> elements) {
+        List<List<E>> byStripe = new ArrayList<>();
+        for (int i = 0; i < stripes.size(); i++) {
+            byStripe.add(new ArrayList<>());
+        }
+        for (E element : elements) {
+            byStripe.get(Math.floorMod(element.hashCode(), stripes.size())).add(element);
+        }
+        return byStripe;
+    }
+}
+//end::stripedset[]
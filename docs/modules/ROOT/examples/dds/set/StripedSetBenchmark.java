@@ -0,0 +1,70 @@
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.hazelcast.examples.helper.ClusterBenchmark.forEachClusterSize;
+import static com.hazelcast.examples.helper.ClusterBenchmark.runOnEachMember;
+
+// Compares how fast elements are added to an ISet and to a StripedSet as
+// the cluster grows. Each member adds up to 1,000,000 unique elements in
+// batches of 1,000 for at most the given number of seconds, so that the
+// sets do not fill the heap. Pass the member counts to test as arguments,
+// for example "1 2 4 8".
+public class StripedSetBenchmark {
+
+    private static final int STRIPE_COUNT = 64;
+    private static final int BATCH_SIZE = 1000;
+    private static final long ELEMENTS_PER_MEMBER = 1_000_000;
+    private static final int SECONDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        forEachClusterSize(args, new Config(), members -> {
+            //tag::stripedsetbenchmark[]
+            // Each writer blocks one thread per stripe in addAll()
+            ExecutorService executor = Executors.newFixedThreadPool(members.size() * STRIPE_COUNT);
+            try {
+                long single = run(members, hz -> hz.<String>getSet("single")::addAll);
+                members.get(0).getSet("single").destroy();
+                long striped = run(members, hz -> new StripedSet<String>(hz, "striped", STRIPE_COUNT, executor)::addAll);
+                new StripedSet<String>(members.get(0), "striped", STRIPE_COUNT, executor).destroy();
+                System.out.printf("%d members: ISet %,d elements/s, StripedSet %,d elements/s%n",
+                        members.size(), single, striped);
+            } finally {
+                executor.shutdown();
+            }
+            //end::stripedsetbenchmark[]
+        });
+    }
+
+    // Runs one writer on each member and returns the number of added elements per second
+    private static long run(List<HazelcastInstance> members,
+                            Function<HazelcastInstance, Predicate<List<String>>> sets) throws Exception {
+        List<Predicate<List<String>>> addAllPerMember = new ArrayList<>();
+        for (HazelcastInstance hz : members) {
+            addAllPerMember.add(sets.apply(hz));
+        }
+        AtomicLong added = new AtomicLong();
+        long start = System.nanoTime();
+        runOnEachMember(members.size(), SECONDS, (member, deadline) -> {
+            Predicate<List<String>> addAll = addAllPerMember.get(member);
+            String prefix = member + "-";
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            for (long i = 0; i < ELEMENTS_PER_MEMBER && System.nanoTime() < deadline; ) {
+                batch.clear();
+                for (int j = 0; j < BATCH_SIZE; j++) {
+                    batch.add(prefix + i++);
+                }
+                addAll.test(batch);
+                added.addAndGet(batch.size());
+            }
+        });
+        return added.get() * 1_000_000_000L / Math.max(1, System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,140 @@
+import com.hazelcast.topic.ITopic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+//tag::bp[]
+// Collects messages for up to maxBatchSize messages or maxDelayMicros
+// microseconds and publishes them with a single publishAllAsync() call
+public class BatchingPublisher<E> implements AutoCloseable {
+
+    private static final int MAX_IN_FLIGHT = 16;
+
+    private final ITopic<E> topic;
+    private final int maxBatchSize;
+    private final long maxDelayMicros;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder publishMicros = new LongAdder();
+    private final LongAccumulator maxPublishMicros = new LongAccumulator(Long::max, 0);
+    private List<E> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+    private volatile Throwable failure;
+
+    public BatchingPublisher(ITopic<E> topic, int maxBatchSize, long maxDelayMicros) {
+        this.topic = topic;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayMicros = maxDelayMicros;
+    }
+
+    // Throws if an earlier batch failed, so that failed messages are not silently lost
+    public void publish(E message) throws InterruptedException {
+        if (failure != null) {
+            throw new IllegalStateException("A previous batch failed", failure);
+        }
+        boolean full;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Publisher for topic " + topic.getName() + " is closed");
+            }
+            pending.add(message);
+            full = pending.size() >= maxBatchSize;
+            if (!full && pending.size() == 1) {
+                scheduledFlush = scheduler.schedule(this::flushQuietly, maxDelayMicros, TimeUnit.MICROSECONDS);
+            }
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    // Batches are handed to the topic in the order they were collected. Throws
+    // if an earlier batch failed, like publish().
+    public void flush() throws InterruptedException {
+        if (failure != null) {
+            throw new IllegalStateException("A previous batch failed", failure);
+        }
+        synchronized (inFlight) {
+            List<E> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = takePending();
+            }
+            send(batch);
+        }
+    }
+
+    // Publishes the collected messages and waits until all batches are published
+    @Override
+    public void close() throws InterruptedException {
+        synchronized (this) {
+            closed = true;
+        }
+        try {
+            flush();
+        } finally {
+            scheduler.shutdown();
+            inFlight.acquire(MAX_IN_FLIGHT);
+            inFlight.release(MAX_IN_FLIGHT);
+        }
+        if (failure != null) {
+            throw new IllegalStateException("A batch failed", failure);
+        }
+    }
+
+    public void printStats() {
+        long batchCount = Math.max(1, batches.sum());
+        System.out.printf("Topic %s: %,d batches, %,d messages per batch, publish latency %,d us average, %,d us max%n",
+                topic.getName(), batches.sum(), messages.sum() / batchCount,
+                publishMicros.sum() / batchCount, maxPublishMicros.get());
+    }
+
+    private List<E> takePending() {
+        List<E> batch = pending;
+        pending = new ArrayList<>(maxBatchSize);
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void send(List<E> batch) throws InterruptedException {
+        inFlight.acquire();
+        batches.increment();
+        messages.add(batch.size());
+        long start = System.nanoTime();
+        topic.publishAllAsync(batch).whenComplete((result, t) -> {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            publishMicros.add(micros);
+            maxPublishMicros.accumulate(micros);
+            if (t != null && failure == null) {
+                failure = t;
+            }
+            inFlight.release();
+        });
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IllegalStateException e) {
+            // Reported by the next publish(), flush() or close() call
+        }
+    }
+}
+//end::bp[]
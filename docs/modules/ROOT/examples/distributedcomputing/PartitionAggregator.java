@@ -0,0 +1,48 @@
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.function.BiFunctionEx;
+import com.hazelcast.function.BinaryOperatorEx;
+import com.hazelcast.function.SupplierEx;
+import com.hazelcast.map.IMap;
+
+import java.util.Map;
+
+//tag::pa[]
+public class PartitionAggregator<K, V, R> implements Aggregator<Map.Entry<K, V>, R> {
+
+    private final BiFunctionEx<R, Map.Entry<K, V>, R> accumulateFn;
+    private final BinaryOperatorEx<R> combineFn;
+    private R result;
+
+    public PartitionAggregator(SupplierEx<R> identity,
+                               BiFunctionEx<R, Map.Entry<K, V>, R> accumulateFn,
+                               BinaryOperatorEx<R> combineFn) {
+        this.accumulateFn = accumulateFn;
+        this.combineFn = combineFn;
+        this.result = identity.get();
+    }
+
+    // Runs fn over the records of every partition where the data is stored,
+    // then combines the partial results per member and across the cluster
+    public static <K, V, R> R executeOnPartitions(IMap<K, V> map, SupplierEx<R> identity,
+                                                  BiFunctionEx<R, Map.Entry<K, V>, R> fn,
+                                                  BinaryOperatorEx<R> combiner) {
+        return map.aggregate(new PartitionAggregator<>(identity, fn, combiner));
+    }
+
+    @Override
+    public void accumulate(Map.Entry<K, V> entry) {
+        result = accumulateFn.apply(result, entry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void combine(Aggregator aggregator) {
+        result = combineFn.apply(result, ((PartitionAggregator<K, V, R>) aggregator).result);
+    }
+
+    @Override
+    public R aggregate() {
+        return result;
+    }
+}
+//end::pa[]
@@ -0,0 +1,79 @@
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.core.IExecutorService;
+import com.hazelcast.map.IMap;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+// Compares the SumTask pattern, which calls map.get() for every local key,
+// with a partition-local aggregation of the same map.
+public class SumBenchmark {
+
+    private static final int ENTRIES = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        HazelcastInstance instance = Hazelcast.newHazelcastInstance();
+        Hazelcast.newHazelcastInstance();
+        IMap<String, Integer> map = instance.getMap("map");
+        Map<String, Integer> batch = new HashMap<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            batch.put("key-" + i, 1);
+            if (batch.size() == 10_000) {
+                map.putAll(batch);
+                batch.clear();
+            }
+        }
+
+        //tag::sumbenchmark[]
+        IExecutorService executorService = instance.getExecutorService("executorService");
+        long start = System.nanoTime();
+        int taskSum = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            taskSum = 0;
+            for (Future<Integer> future : executorService.submitToAllMembers(new QuietSumTask()).values()) {
+                taskSum += future.get();
+            }
+        }
+        long taskMillis = (System.nanoTime() - start) / 1_000_000 / ROUNDS;
+
+        start = System.nanoTime();
+        int partitionSum = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            partitionSum = PartitionAggregator.executeOnPartitions(map,
+                    () -> 0, (sum, entry) -> sum + entry.getValue(), Integer::sum);
+        }
+        long partitionMillis = (System.nanoTime() - start) / 1_000_000 / ROUNDS;
+        //end::sumbenchmark[]
+
+        System.out.printf("SumTask: sum=%d in %,d ms%n", taskSum, taskMillis);
+        System.out.printf("PartitionAggregator: sum=%d in %,d ms%n", partitionSum, partitionMillis);
+        Hazelcast.shutdownAll();
+    }
+
+    // SumTask without the per-key logging, so that only the map access is measured
+    private static class QuietSumTask implements Callable<Integer>, Serializable, HazelcastInstanceAware {
+
+        private transient HazelcastInstance hazelcastInstance;
+
+        @Override
+        public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
+            this.hazelcastInstance = hazelcastInstance;
+        }
+
+        @Override
+        public Integer call() {
+            IMap<String, Integer> map = hazelcastInstance.getMap("map");
+            int result = 0;
+            for (String key : map.localKeySet()) {
+                result += map.get(key);
+            }
+            return result;
+        }
+    }
+}
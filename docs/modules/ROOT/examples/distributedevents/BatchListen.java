@@ -0,0 +1,132 @@
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.query.Predicates;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+//tag::batchlisten[]
+public class BatchListen {
+
+    public static void main( String[] args ) {
+        // Members buffer the events of each partition, keep only the latest
+        // event per key, and send them to the client in batches
+        QueryCacheConfig queryCacheConfig = new QueryCacheConfig( "somemap-events" )
+                .setCoalesce( true )
+                .setDelaySeconds( 1 )
+                .setBatchSize( 1000 )
+                .setBufferSize( 10000 )
+                .setPopulate( false );
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.addQueryCacheConfig( "somemap", queryCacheConfig );
+
+        HazelcastInstance hz = HazelcastClient.newHazelcastClient( clientConfig );
+        IMap<String, String> map = hz.getMap( "somemap" );
+        // The query cache keeps a copy of every entry that matches the
+        // predicate on the client, so narrow the predicate where you can
+        QueryCache<String, String> events = map.getQueryCache( "somemap-events", Predicates.alwaysTrue(), true );
+
+        BatchingEntryListener<String, String> listener = new BatchingEntryListener<>( 500, 100, batch -> {
+            System.out.println( "Received " + batch.size() + " events" );
+        } );
+        events.addEntryListener( listener, true );
+        Runtime.getRuntime().addShutdownHook( new Thread( listener::close ) );
+        System.out.println( "EntryBatchListener registered" );
+    }
+
+    public interface EntryBatchListener<K, V> {
+        void onEvents( List<EntryEvent<K, V>> events );
+    }
+
+    // Groups events into batches of up to maxBatchSize events or maxDelayMillis
+    // milliseconds, keeping only the latest event per key within a batch
+    static class BatchingEntryListener<K, V> implements
+            EntryAddedListener<K, V>,
+            EntryUpdatedListener<K, V>,
+            EntryRemovedListener<K, V>,
+            AutoCloseable {
+
+        private final int maxBatchSize;
+        private final EntryBatchListener<K, V> delegate;
+        private final Object deliveryLock = new Object();
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        private Map<K, EntryEvent<K, V>> pending = new LinkedHashMap<>();
+
+        BatchingEntryListener( int maxBatchSize, long maxDelayMillis, EntryBatchListener<K, V> delegate ) {
+            this.maxBatchSize = maxBatchSize;
+            this.delegate = delegate;
+            scheduler.scheduleWithFixedDelay( this::timedFlush, maxDelayMillis, maxDelayMillis, TimeUnit.MILLISECONDS );
+        }
+
+        @Override
+        public void entryAdded( EntryEvent<K, V> event ) {
+            add( event );
+        }
+
+        @Override
+        public void entryUpdated( EntryEvent<K, V> event ) {
+            add( event );
+        }
+
+        @Override
+        public void entryRemoved( EntryEvent<K, V> event ) {
+            add( event );
+        }
+
+        // Stops the timer and delivers the events that are still pending
+        @Override
+        public void close() {
+            scheduler.shutdown();
+            flush();
+        }
+
+        private void add( EntryEvent<K, V> event ) {
+            boolean full;
+            synchronized ( this ) {
+                pending.put( event.getKey(), event );
+                full = pending.size() >= maxBatchSize;
+            }
+            if ( full ) {
+                flush();
+            }
+        }
+
+        // Batches are delivered one at a time, in the order they were filled
+        private void flush() {
+            synchronized ( deliveryLock ) {
+                Map<K, EntryEvent<K, V>> batch;
+                synchronized ( this ) {
+                    if ( pending.isEmpty() ) {
+                        return;
+                    }
+                    batch = pending;
+                    pending = new LinkedHashMap<>();
+                }
+                delegate.onEvents( new ArrayList<>( batch.values() ) );
+            }
+        }
+
+        // An exception would cancel the timer, so it is only reported here
+        private void timedFlush() {
+            try {
+                flush();
+            } catch ( RuntimeException e ) {
+                System.err.println( "Processing a batch of events failed: " + e );
+            }
+        }
+    }
+}
+//end::batchlisten[]
@@ -0,0 +1,36 @@
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+
+//tag::faserializer[]
+public class FAEmployeeSerializer implements CompactSerializer<FAEmployee> {
+
+    @Override
+    public FAEmployee read(CompactReader reader) {
+        FAEmployee employee = new FAEmployee();
+        employee.setFirstName(reader.readString("firstName"));
+        employee.setLastName(reader.readString("lastName"));
+        employee.setSalaryPerMonth(reader.readInt32("salaryPerMonth"));
+        employee.setCompanyName(reader.readString("companyName"));
+        return employee;
+    }
+
+    @Override
+    public void write(CompactWriter writer, FAEmployee employee) {
+        writer.writeString("firstName", employee.getFirstName());
+        writer.writeString("lastName", employee.getLastName());
+        writer.writeInt32("salaryPerMonth", employee.getSalaryPerMonth());
+        writer.writeString("companyName", employee.getCompanyName());
+    }
+
+    @Override
+    public Class<FAEmployee> getCompactClass() {
+        return FAEmployee.class;
+    }
+
+    @Override
+    public String getTypeName() {
+        return "faEmployee";
+    }
+}
+//end::faserializer[]
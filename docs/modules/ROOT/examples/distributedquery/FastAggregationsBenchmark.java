@@ -0,0 +1,96 @@
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Compares an aggregator that deserializes every FAEmployee with a built-in
+// aggregator that reads the salaryPerMonth attribute from Compact bytes.
+// Pass the number of entries as the first argument (default 10,000,000)
+// and size the heap accordingly.
+public class FastAggregationsBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int entryCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+
+        //tag::fabenchmark[]
+        Config config = new Config();
+        config.getSerializationConfig().getCompactSerializationConfig()
+                .addSerializer(new FAEmployeeSerializer());
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance(config);
+        IMap<String, FAEmployee> employees = hz.getMap("employees");
+        fill(employees, entryCount);
+
+        measure("object-based", () -> employees.aggregate(new SalaryAverage()));
+        measure("attribute-based", () -> employees.aggregate(Aggregators.integerAvg("salaryPerMonth")));
+        //end::fabenchmark[]
+
+        Hazelcast.shutdownAll();
+    }
+
+    private static void measure(String name, Supplier<Double> aggregation) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            aggregation.get();
+        }
+        long start = System.nanoTime();
+        double result = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            result = aggregation.get();
+        }
+        long millisPerRound = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / MEASURED_ROUNDS;
+        System.out.printf("%-16s average=%.2f  %,d ms/aggregation%n", name, result, millisPerRound);
+    }
+
+    private static void fill(IMap<String, FAEmployee> employees, int entryCount) {
+        Random random = new Random(42);
+        Map<String, FAEmployee> batch = new HashMap<>();
+        for (int i = 0; i < entryCount; i++) {
+            FAEmployee employee = new FAEmployee();
+            employee.setCompanyName("Hazelcast");
+            employee.setFirstName("first-" + i);
+            employee.setLastName("last-" + i);
+            employee.setSalaryPerMonth(2800 + random.nextInt(2000));
+            batch.put("employee-" + i, employee);
+            if (batch.size() == 10_000) {
+                employees.putAll(batch);
+                batch.clear();
+            }
+        }
+        employees.putAll(batch);
+    }
+
+    // Same logic as the custom aggregator in SimpleFastAggregationsDemo
+    private static class SalaryAverage implements Aggregator<Map.Entry<String, FAEmployee>, Double> {
+
+        private long sum;
+        private long count;
+
+        @Override
+        public void accumulate(Map.Entry<String, FAEmployee> entry) {
+            count++;
+            sum += entry.getValue().getSalaryPerMonth();
+        }
+
+        @Override
+        public void combine(Aggregator aggregator) {
+            SalaryAverage other = (SalaryAverage) aggregator;
+            sum += other.sum;
+            count += other.count;
+        }
+
+        @Override
+        public Double aggregate() {
+            return count == 0 ? null : (double) sum / count;
+        }
+    }
+}
@@ -1,4 +1,6 @@
 import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.config.Config;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
@@ -16,13 +18,19 @@ public class SimpleFastAggregationsDemo {
             = {"Veentjer", "Luck", "Engelbert", "Ozturk", "Malikov", "Matsumura", "Arslan", "Akar"};
 
     public static void main(String[] args) {
+        // store employees in Compact format, so that built-in aggregators
+        // can read the salaryPerMonth field without deserializing them
+        Config config = new Config();
+        config.getSerializationConfig().getCompactSerializationConfig()
+                .addSerializer(new FAEmployeeSerializer());
+
         // build Hazelcast cluster
         System.out.println("Starting instance 1");
-        Hazelcast.newHazelcastInstance();
+        Hazelcast.newHazelcastInstance(config);
         System.out.println("Starting instance 2");
-        Hazelcast.newHazelcastInstance();
+        Hazelcast.newHazelcastInstance(config);
         System.out.println("Starting instance 3");
-        HazelcastInstance hz = Hazelcast.newHazelcastInstance();
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance(config);
 
         // retrieve the Hazelcast IMap
         IMap<String, FAEmployee> employees = hz.getMap("employees");
@@ -33,6 +41,9 @@ public class SimpleFastAggregationsDemo {
         // we simple calculate a average over all salaries on all employees
         simpleCustomAverageAggregation(employees);
 
+        // the same average, calculated by a built-in aggregator
+        attributeAverageAggregation(employees);
+
         Hazelcast.shutdownAll();
     }
     //tag::fademo[]
@@ -71,6 +82,16 @@ public class SimpleFastAggregationsDemo {
         System.out.println("\n");
     }
     //end::fademo[]
+    //tag::faattribute[]
+    private static void attributeAverageAggregation(IMap<String, FAEmployee> employees) {
+        System.out.println("Calculating salary average from the salaryPerMonth attribute");
+
+        double avgSalary = employees.aggregate(Aggregators.integerAvg("salaryPerMonth"));
+
+        System.out.println("Overall average salary: " + avgSalary);
+        System.out.println("\n");
+    }
+    //end::faattribute[]
     private static void fillEmployeeMap(IMap<String, FAEmployee> employees) {
         Random random = new Random();
         for (int i = 0; i < 10000; i++) {
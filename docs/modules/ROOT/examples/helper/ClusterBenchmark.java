@@ -0,0 +1,80 @@
+package com.hazelcast.examples.helper;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Harness for benchmarks that compare data structures on clusters of
+ * different sizes. Members started in one JVM share its CPUs, so for
+ * realistic numbers run one member per machine.
+ */
+public final class ClusterBenchmark {
+
+    private static final String[] DEFAULT_MEMBER_COUNTS = {"1", "2", "4", "8"};
+
+    private ClusterBenchmark() {
+    }
+
+    public interface ClusterTask {
+        void run(List<HazelcastInstance> members) throws Exception;
+    }
+
+    public interface MemberTask {
+        void run(int memberIndex, long deadlineNanos) throws Exception;
+    }
+
+    /**
+     * Starts a cluster for each member count given as an argument, "1 2 4 8"
+     * by default, runs the task on it and shuts it down again.
+     */
+    public static void forEachClusterSize(String[] args, Config config, ClusterTask task) throws Exception {
+        String[] memberCounts = args.length > 0 ? args : DEFAULT_MEMBER_COUNTS;
+        for (String memberCount : memberCounts) {
+            List<HazelcastInstance> members = new ArrayList<>();
+            for (int i = 0; i < Integer.parseInt(memberCount); i++) {
+                members.add(Hazelcast.newHazelcastInstance(config));
+            }
+            try {
+                task.run(members);
+            } finally {
+                Hazelcast.shutdownAll();
+            }
+        }
+    }
+
+    /**
+     * Runs each task on its own thread for every member until the given
+     * number of seconds have passed, and waits for all threads to finish.
+     * Rethrows the first failure of a task.
+     */
+    public static void runOnEachMember(int memberCount, int seconds, MemberTask... tasks) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        CountDownLatch done = new CountDownLatch(memberCount * tasks.length);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        for (int m = 0; m < memberCount; m++) {
+            int memberIndex = m;
+            for (MemberTask task : tasks) {
+                new Thread(() -> {
+                    try {
+                        task.run(memberIndex, deadline);
+                    } catch (Exception e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        done.countDown();
+                    }
+                }).start();
+            }
+        }
+        done.await();
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+}
@@ -11,6 +11,10 @@ import com.hazelcast.instance.impl.Node;
 import com.hazelcast.internal.partition.InternalPartitionService;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static com.hazelcast.examples.helper.CommonUtils.generateRandomString;
 
@@ -49,6 +53,26 @@ public final class HazelcastUtils {
         }
     }
 
+    /**
+     * Returns {@code count} keys that belong to distinct partitions. A data
+     * structure named {@code name@key} is stored in the partition of {@code key}.
+     */
+    public static List<String> keysOfDistinctPartitions(HazelcastInstance instance, int count) {
+        PartitionService partitionService = instance.getPartitionService();
+        if (count < 1 || count > partitionService.getPartitions().size()) {
+            throw new IllegalArgumentException("count must be between 1 and the partition count");
+        }
+        List<String> keys = new ArrayList<>(count);
+        Set<Integer> partitionIds = new HashSet<>();
+        for (int i = 0; keys.size() < count; i++) {
+            String key = Integer.toString(i);
+            if (partitionIds.add(partitionService.getPartition(key).getPartitionId())) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
     private static void checkPartitionCountGreaterOrEqualMemberCount(HazelcastInstance instance) {
         Cluster cluster = instance.getCluster();
         int memberCount = cluster.getMembers().size();